@@ -13,12 +13,17 @@ import android.widget.Button;
 
 import com.bruce.bezier.R;
 import com.bruce.bezier.interpolator.BezierInterpolator;
+import com.bruce.bezier.interpolator.BezierPrewarmer;
 
 import java.util.ArrayList;
+import java.util.concurrent.Future;
 
 public class AnimatorFragment extends Fragment implements View.OnClickListener{
 
     private ArrayList<PointF> mControlPoints;
+    private BezierInterpolator.Builder mInterpolatorBuilder;
+    /**后台预先创建的插值器 */
+    private Future<BezierInterpolator> mInterpolatorFuture;
     private View mYellowView, mRedView;
     private Button mButton;
 
@@ -42,6 +47,11 @@ public class AnimatorFragment extends Fragment implements View.OnClickListener{
 
     public void setControlPoints(ArrayList<PointF> controlPoints) {
         mControlPoints = controlPoints;
+        //X坐标不单调时按单调化后的曲线运动，与BezierView中浅色绘制的曲线一致
+        mInterpolatorBuilder = new BezierInterpolator.Builder(controlPoints)
+                .setMonotonePolicy(BezierInterpolator.MONOTONE_CLAMP);
+        //切换页面时就在后台创建插值器，点击时不用在主线程计算查找表
+        mInterpolatorFuture = mInterpolatorBuilder.buildAsync();
     }
 
     @Override
@@ -53,7 +63,7 @@ public class AnimatorFragment extends Fragment implements View.OnClickListener{
         yellowAnimator.setInterpolator(new LinearInterpolator());
 
         ObjectAnimator redAnimator = ObjectAnimator.ofFloat(mRedView, View.TRANSLATION_Y, 0, 1300);
-        redAnimator.setInterpolator(new BezierInterpolator(mControlPoints));
+        redAnimator.setInterpolator(BezierPrewarmer.getNow(mInterpolatorFuture, mInterpolatorBuilder));
 
         AnimatorSet set = new AnimatorSet();
         set.play(yellowAnimator).with(redAnimator);
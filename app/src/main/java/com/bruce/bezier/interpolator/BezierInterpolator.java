@@ -3,58 +3,180 @@ package com.bruce.bezier.interpolator;
 import android.graphics.PointF;
 import android.view.animation.Interpolator;
 
-import com.bruce.bezier.utils.BezierUtils;
+import com.bruce.bezier.core.BezierLookup;
+import com.bruce.bezier.core.BezierLookups;
+import com.bruce.bezier.core.BezierTableFile;
 
 import java.util.ArrayList;
+import java.util.concurrent.Future;
 
 /**
  * 贝塞尔曲线插值器
+ * Android Interpolator的适配层，查找策略由bezier-core创建
  * Created by Bruce on 2017/6/15.
  */
 public class BezierInterpolator implements Interpolator {
 
-    private static final float PRECISION = 0.002f;
+    /**按时间t等分采样，二分查找 */
+    public static final int LOOKUP_PARAMETRIC = BezierLookups.LOOKUP_PARAMETRIC;
+    /**按X坐标等分重采样，O(1)查找 */
+    public static final int LOOKUP_UNIFORM = BezierLookups.LOOKUP_UNIFORM;
+    /**三阶曲线解析求解，牛顿迭代加二分法，不需要查找表 */
+    public static final int LOOKUP_ANALYTIC = BezierLookups.LOOKUP_ANALYTIC;
+    /**按误差自适应细分采样，二分查找，平缓的曲线点数远少于按t等分 */
+    public static final int LOOKUP_ADAPTIVE = BezierLookups.LOOKUP_ADAPTIVE;
+    /**按X坐标等分重采样，Y坐标以16位定点数存储，默认长度下约0.5KB，O(1)查找 */
+    public static final int LOOKUP_UNIFORM_FIXED16 = BezierLookups.LOOKUP_UNIFORM_FIXED16;
 
-    private ArrayList<PointF> mBezierPoints;
+    /**每次查找都从整张表二分 */
+    public static final int SEARCH_HINT_NONE = BezierLookups.SEARCH_HINT_NONE;
+    /**记住上一次查找到的区间，插值器只在一个线程中使用时选择 */
+    public static final int SEARCH_HINT_CURSOR = BezierLookups.SEARCH_HINT_CURSOR;
+    /**每个线程各自记住上一次查找到的区间，插值器在多个线程间共享时选择 */
+    public static final int SEARCH_HINT_SHARED_CURSOR = BezierLookups.SEARCH_HINT_SHARED_CURSOR;
+
+    /**X坐标不单调时抛出IllegalArgumentException */
+    public static final int MONOTONE_REJECT = BezierLookups.MONOTONE_REJECT;
+    /**X坐标不单调时把X方向控制点替换为最接近的单调序列，曲线形状略有改变，动画连续 */
+    public static final int MONOTONE_CLAMP = BezierLookups.MONOTONE_CLAMP;
+    /**X坐标不单调时取先经过的一支，曲线折返处动画跳变 */
+    public static final int MONOTONE_FIRST = BezierLookups.MONOTONE_FIRST;
+    /**X坐标不单调时取后经过的一支，曲线折返处动画跳变 */
+    public static final int MONOTONE_LAST = BezierLookups.MONOTONE_LAST;
+
+    /**X方向等分查找表的默认长度 */
+    public static final int DEFAULT_UNIFORM_TABLE_SIZE = BezierLookups.DEFAULT_UNIFORM_TABLE_SIZE;
+    /**自适应细分的默认最大误差 */
+    public static final float DEFAULT_TOLERANCE = BezierLookups.DEFAULT_TOLERANCE;
+    /**默认的单调性处理方式 */
+    public static final int DEFAULT_MONOTONE_POLICY = BezierLookups.DEFAULT_MONOTONE_POLICY;
+
+    /**曲线键，保存控制点副本 */
+    private final CurveKey mKey;
+    /**查找策略，使用查找游标时为插值器独有的包装 */
+    private final BezierLookup mLookup;
+    /**相对于精确曲线的最大误差，首次获取时计算 */
+    private float mMaxError = -1;
 
     public BezierInterpolator(ArrayList<PointF> controlPoints) {
-        initBezierPoint(controlPoints);
+        this(controlPoints, LOOKUP_PARAMETRIC, 0, 0, SEARCH_HINT_NONE, DEFAULT_MONOTONE_POLICY);
     }
 
     public BezierInterpolator(float cx, float cy) {
-        ArrayList<PointF> points = new ArrayList<>();
-        points.add(new PointF(0, 0));
-        points.add(new PointF(cx, cy));
-        points.add(new PointF(1f, 1f));
-        initBezierPoint(points);
+        this(createControlPoints(cx, cy), LOOKUP_PARAMETRIC, 0, 0, SEARCH_HINT_NONE, DEFAULT_MONOTONE_POLICY);
     }
 
     public BezierInterpolator(float cx1, float cy1, float cx2, float cy2) {
-        ArrayList<PointF> points = new ArrayList<>();
-        points.add(new PointF(0, 0));
-        points.add(new PointF(cx1, cy1));
-        points.add(new PointF(cx2, cy2));
-        points.add(new PointF(1f, 1f));
-        initBezierPoint(points);
+        this(createControlPoints(cx1, cy1, cx2, cy2), LOOKUP_PARAMETRIC, 0, 0, SEARCH_HINT_NONE, DEFAULT_MONOTONE_POLICY);
     }
 
     public BezierInterpolator(float cx1, float cy1, float cx2, float cy2, float cx3, float cy3) {
+        this(createControlPoints(cx1, cy1, cx2, cy2, cx3, cy3), LOOKUP_PARAMETRIC, 0, 0, SEARCH_HINT_NONE, DEFAULT_MONOTONE_POLICY);
+    }
+
+    private BezierInterpolator(Builder builder) {
+        this(builder.mControlPoints, builder.mLookupMode, builder.mTableSize, builder.mTolerance, builder.mSearchHint,
+                builder.mMonotonePolicy);
+    }
+
+    /**
+     * 使用预计算查找表文件中的曲线，不需要计算查找表，也不经过缓存
+     * @param entry {@link BezierTableFile#get(String)}的返回值
+     */
+    public BezierInterpolator(BezierTableFile.Entry entry) {
+        //查找表文件中的控制点已按单调性处理方式调整过
+        mKey = new CurveKey(entry.getXs(), entry.getYs(), entry.getLookupMode(), entry.getTableSize(), entry.getTolerance(),
+                DEFAULT_MONOTONE_POLICY);
+        mLookup = BezierMetrics.getInstance().isEnabled() ? new CountingLookup(entry.getLookup()) : entry.getLookup();
+    }
+
+    /**
+     * 控制点在构造时复制，查找表创建后不可变，final字段保证插值器可以在后台线程创建后交给UI线程使用
+     * X坐标的单调性在创建查找表时检查，查找表的X坐标一定递增
+     */
+    private BezierInterpolator(ArrayList<PointF> points, int lookupMode, int tableSize, float tolerance, int searchHint,
+                               int monotonePolicy) {
+        checkBezierPoint(points, lookupMode, tableSize, tolerance, monotonePolicy);
+        mKey = new CurveKey(points, lookupMode, tableSize, tolerance, monotonePolicy);
+        //缓存中只保存不可变的查找表，游标由每个插值器各自持有
+        BezierLookup lookup = BezierLookups.withSearchHint(BezierLookupCache.getInstance().get(mKey), searchHint);
+        mLookup = BezierMetrics.getInstance().isEnabled() ? new CountingLookup(lookup) : lookup;
+    }
+
+    /**
+     * 创建起点为(0,0)，终点为(1,1)的控制点集合
+     * @param coordinates 中间控制点的坐标，依次为x1, y1, x2, y2...
+     * @return 控制点集合
+     */
+    private static ArrayList<PointF> createControlPoints(float... coordinates) {
         ArrayList<PointF> points = new ArrayList<>();
         points.add(new PointF(0, 0));
-        points.add(new PointF(cx1, cy1));
-        points.add(new PointF(cx2, cy2));
-        points.add(new PointF(cx3, cy3));
+        for (int i = 0; i < coordinates.length; i += 2) {
+            points.add(new PointF(coordinates[i], coordinates[i + 1]));
+        }
         points.add(new PointF(1f, 1f));
-        initBezierPoint(points);
+        return points;
     }
 
-    private void initBezierPoint(ArrayList<PointF> points) {
+    /**
+     * 检查控制点与查找方式是否合法
+     */
+    private static void checkBezierPoint(ArrayList<PointF> points, int lookupMode, int tableSize, float tolerance, int monotonePolicy) {
+        if(points == null || points.size() <= 2) {
+            throw new IllegalArgumentException("控制点集合不能为空，且控制点个数必须大于2");
+        }
         if(points.get(0).x != 0 || points.get(0).y != 0 || points.get(points.size() - 1).x != 1f || points.get(points.size() - 1).y != 1f) {
             throw new IllegalArgumentException("控制点起始必须为(0,0)， 终点必须为(1,1)");
         }
-        mBezierPoints = BezierUtils.getInstance().buildBezierPoints(points);
+        switch (lookupMode) {
+            case LOOKUP_PARAMETRIC:
+                break;
+            case LOOKUP_UNIFORM:
+            case LOOKUP_UNIFORM_FIXED16:
+                if (tableSize < 2) {
+                    throw new IllegalArgumentException("查找表长度至少为2");
+                }
+                break;
+            case LOOKUP_ANALYTIC:
+                if (points.size() != 4) {
+                    throw new IllegalArgumentException("解析求解只支持三阶曲线，控制点个数必须为4");
+                }
+                break;
+            case LOOKUP_ADAPTIVE:
+                if (!(tolerance > 0)) {
+                    throw new IllegalArgumentException("误差必须大于0");
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("未知的查找方式：" + lookupMode);
+        }
+        if (monotonePolicy < MONOTONE_REJECT || monotonePolicy > MONOTONE_LAST) {
+            throw new IllegalArgumentException("未知的单调性处理方式：" + monotonePolicy);
+        }
     }
 
+    /**
+     * 获取插值结果相对于精确曲线的最大误差
+     * 首次调用时在(0,1)上均匀取点测量，耗时与构造相当，不要在动画过程中调用
+     * @return 最大绝对误差
+     */
+    public float getMaxError() {
+        if (mMaxError < 0) {
+            mMaxError = BezierLookups.measureMaxError(mKey.mXs, mKey.mYs, mKey.mMonotonePolicy, mLookup);
+        }
+        return mMaxError;
+    }
+
+    /**
+     * 获取查找次数，只有在{@link BezierMetrics}开启后构造的插值器才会统计
+     * @return 查找次数，批量查找按个数计，未统计时为-1
+     */
+    public long getLookupCount() {
+        if (mLookup instanceof CountingLookup) {
+            return ((CountingLookup) mLookup).getLookupCount();
+        }
+        return -1;
+    }
 
     @Override
     public float getInterpolation(float t) {
@@ -63,29 +185,141 @@ public class BezierInterpolator implements Interpolator {
         } else if (t >= 1) {
             return 1;
         }
+        return mLookup.getInterpolation(t);
+    }
 
-        int startIndex = 0;
-        int endIndex = mBezierPoints.size() - 1;
+    /**
+     * 批量插值，用于同一时钟驱动的大量动画，结果与逐个调用{@link #getInterpolation(float)}相同
+     * 输入按升序或接近升序排列时，查找表从上一个结果所在的区间继续查找，不必每次重新二分
+     * @param in 输入
+     * @param out 输出，可以与in为同一个数组
+     * @param offset 起始下标，in与out相同
+     * @param count 个数
+     */
+    public void getInterpolation(float[] in, float[] out, int offset, int count) {
+        if (offset < 0 || count < 0 || offset + count > in.length || offset + count > out.length) {
+            throw new IllegalArgumentException("下标越界：offset=" + offset + "，count=" + count);
+        }
+        mLookup.getInterpolation(in, out, offset, count);
+    }
 
-        while (endIndex - startIndex > 1) {
-            int midIndex = (startIndex + endIndex) / 2;
-            if (t < mBezierPoints.get(midIndex).x) {
-                endIndex = midIndex;
-            } else {
-                startIndex = midIndex;
-            }
+    /**
+     * 同时获取插值结果与斜率dy/dx，只查找一次，用于动画被打断时把当前速度交给弹簧等物理动画
+     * 斜率的单位为 插值结果 / 输入，属性的速度为 斜率 * (终值 - 起始值) / 时长。
+     * 输出数组由调用方提供，可以逐帧复用
+     * @param t 输入，超出[0,1]时取端点处的斜率
+     * @param out 长度至少为2，out[0]为插值结果，与{@link #getInterpolation(float)}相同，out[1]为斜率
+     */
+    public void getInterpolationAndVelocity(float t, float[] out) {
+        if (out.length < 2) {
+            throw new IllegalArgumentException("输出数组长度至少为2");
+        }
+        mLookup.getInterpolationAndVelocity(t <= 0 ? 0 : t >= 1 ? 1 : t, out);
+        if (t <= 0) {
+            out[0] = 0;
+        } else if (t >= 1) {
+            out[0] = 1;
+        }
+    }
+
+    /**
+     * 贝塞尔插值器构造器，用于选择查找方式
+     */
+    public static class Builder {
+
+        private final ArrayList<PointF> mControlPoints;
+        private int mLookupMode = LOOKUP_PARAMETRIC;
+        private int mTableSize = DEFAULT_UNIFORM_TABLE_SIZE;
+        private float mTolerance = DEFAULT_TOLERANCE;
+        private int mSearchHint = SEARCH_HINT_NONE;
+        private int mMonotonePolicy = DEFAULT_MONOTONE_POLICY;
+
+        /**
+         * @param controlPoints 控制点集合，起点为(0,0)，终点为(1,1)
+         */
+        public Builder(ArrayList<PointF> controlPoints) {
+            mControlPoints = controlPoints;
+        }
+
+        /**
+         * 设置查找方式
+         * @param lookupMode {@link #LOOKUP_PARAMETRIC}、{@link #LOOKUP_UNIFORM}、{@link #LOOKUP_UNIFORM_FIXED16}、{@link #LOOKUP_ANALYTIC} 或 {@link #LOOKUP_ADAPTIVE}
+         * @return Builder
+         */
+        public Builder setLookupMode(int lookupMode) {
+            mLookupMode = lookupMode;
+            return this;
+        }
+
+        /**
+         * 设置X方向等分查找表的长度，仅对{@link #LOOKUP_UNIFORM}和{@link #LOOKUP_UNIFORM_FIXED16}有效
+         * @param tableSize 查找表长度，至少为2
+         * @return Builder
+         */
+        public Builder setTableSize(int tableSize) {
+            mTableSize = tableSize;
+            return this;
+        }
+
+        /**
+         * 设置自适应细分的最大误差，仅对{@link #LOOKUP_ADAPTIVE}有效
+         * 细分到足够平直的段误差不超过此值；细分深度达到上限(16层)的段不再细分，误差可能超过此值，
+         * X坐标单调但有竖直段的曲线会出现这种情况
+         * @param tolerance 最大误差，必须大于0
+         * @return Builder
+         */
+        public Builder setTolerance(float tolerance) {
+            mTolerance = tolerance;
+            return this;
+        }
+
+        /**
+         * 设置查找游标，仅对{@link #LOOKUP_PARAMETRIC}和{@link #LOOKUP_ADAPTIVE}有效
+         * 动画过程中输入逐帧递增，相邻两帧落在同一个或相邻的区间时，游标可以省去二分查找
+         * 帧数远少于查找表点数的短动画每帧跨越多个区间，游标反而多出几次比较，不建议开启
+         * @param searchHint {@link #SEARCH_HINT_NONE}、{@link #SEARCH_HINT_CURSOR} 或 {@link #SEARCH_HINT_SHARED_CURSOR}
+         * @return Builder
+         */
+        public Builder setSearchHint(int searchHint) {
+            mSearchHint = searchHint;
+            return this;
         }
 
-        float xRange = mBezierPoints.get(endIndex).x - mBezierPoints.get(startIndex).x;
-        if(xRange == 0) {
-            return mBezierPoints.get(startIndex).x;
+        /**
+         * 设置X坐标不单调时的处理方式，例如在BezierView中把控制点拖到终点右侧
+         * 创建时由x'(t)的根判断是否单调，单调的曲线不受影响
+         * @param monotonePolicy {@link #MONOTONE_REJECT}、{@link #MONOTONE_CLAMP}、{@link #MONOTONE_FIRST} 或 {@link #MONOTONE_LAST}，
+         *                       后两者不支持{@link #LOOKUP_ANALYTIC}
+         * @return Builder
+         */
+        public Builder setMonotonePolicy(int monotonePolicy) {
+            mMonotonePolicy = monotonePolicy;
+            return this;
         }
 
-        float tInRange = t - mBezierPoints.get(startIndex).x;
-        float fraction = tInRange / xRange;
+        public BezierInterpolator build() {
+            return new BezierInterpolator(this);
+        }
 
-        float startY = mBezierPoints.get(startIndex).y;
-        float endY = mBezierPoints.get(endIndex).y;
-        return startY + (fraction * (endY - startY));
+        /**
+         * 在后台线程中创建插值器，查找表同时放入缓存
+         * 控制点在当前线程复制，提交后修改控制点不影响结果
+         * @return 插值器，可配合{@link BezierPrewarmer#getNow(Future, Builder)}在未完成时同步创建
+         */
+        public Future<BezierInterpolator> buildAsync() {
+            ArrayList<PointF> points = new ArrayList<>();
+            if (mControlPoints != null) {
+                for (PointF point : mControlPoints) {
+                    points.add(new PointF(point.x, point.y));
+                }
+            }
+            Builder builder = new Builder(points);
+            builder.mLookupMode = mLookupMode;
+            builder.mTableSize = mTableSize;
+            builder.mTolerance = mTolerance;
+            builder.mSearchHint = mSearchHint;
+            builder.mMonotonePolicy = mMonotonePolicy;
+            return BezierPrewarmer.getInstance().submit(builder);
+        }
     }
 }
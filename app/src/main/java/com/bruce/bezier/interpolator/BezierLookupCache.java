@@ -0,0 +1,117 @@
+package com.bruce.bezier.interpolator;
+
+import android.util.LruCache;
+
+import com.bruce.bezier.core.BezierLookup;
+import com.bruce.bezier.core.BezierLookups;
+
+/**
+ * 贝塞尔插值器查找表缓存
+ * 以控制点和查找方式为键，最近最少使用的查找表超出容量后被淘汰。
+ * 查找表创建后不可变，可以被任意多个插值器、任意线程共享；
+ * 相同曲线重复构造插值器时只需一次哈希查找。
+ */
+public class BezierLookupCache {
+
+    /**默认缓存的曲线个数 */
+    public static final int DEFAULT_MAX_SIZE = 64;
+
+    private static final BezierLookupCache ourInstance = new BezierLookupCache(DEFAULT_MAX_SIZE);
+
+    public static BezierLookupCache getInstance() {
+        return ourInstance;
+    }
+
+    private final LruCache<CurveKey, BezierLookup> mCache;
+
+    private BezierLookupCache(int maxSize) {
+        mCache = new LruCache<CurveKey, BezierLookup>(maxSize) {
+            @Override
+            protected BezierLookup create(CurveKey key) {
+                BezierMetrics metrics = BezierMetrics.getInstance();
+                if (!metrics.isEnabled() && !metrics.isTraceEnabled()) {
+                    return BezierLookups.create(key.mXs, key.mYs, key.mLookupMode, key.mTableSize, key.mTolerance, key.mMonotonePolicy);
+                }
+                return createWithMetrics(metrics, key);
+            }
+        };
+    }
+
+    private static BezierLookup createWithMetrics(BezierMetrics metrics, CurveKey key) {
+        BezierLookup lookup;
+        long start = System.nanoTime();
+        metrics.beginSection(BezierMetrics.TRACE_BUILD_LOOKUP);
+        try {
+            lookup = BezierLookups.create(key.mXs, key.mYs, key.mLookupMode, key.mTableSize, key.mTolerance, key.mMonotonePolicy);
+        } finally {
+            metrics.endSection();
+        }
+        if (metrics.isEnabled()) {
+            metrics.onLookupBuilt(key.mLookupMode, key.mXs.length, System.nanoTime() - start, BezierLookups.getTableBytes(lookup));
+        }
+        return lookup;
+    }
+
+    /**
+     * 获取查找表，未命中时同步创建并放入缓存
+     * @param key 曲线键
+     * @return 查找表
+     */
+    BezierLookup get(CurveKey key) {
+        return mCache.get(key);
+    }
+
+    /**
+     * @return 命中次数
+     */
+    public int hitCount() {
+        return mCache.hitCount();
+    }
+
+    /**
+     * @return 未命中次数
+     */
+    public int missCount() {
+        return mCache.missCount();
+    }
+
+    /**
+     * @return 淘汰次数
+     */
+    public int evictionCount() {
+        return mCache.evictionCount();
+    }
+
+    /**
+     * @return 当前缓存的查找表个数
+     */
+    public int size() {
+        return mCache.size();
+    }
+
+    /**
+     * @return 最多缓存的查找表个数
+     */
+    public int maxSize() {
+        return mCache.maxSize();
+    }
+
+    /**
+     * 遍历缓存的快照计算
+     * @return 缓存中的查找表占用的堆内存字节数
+     */
+    long tableBytes() {
+        long bytes = 0;
+        for (BezierLookup lookup : mCache.snapshot().values()) {
+            bytes += BezierLookups.getTableBytes(lookup);
+        }
+        return bytes;
+    }
+
+    /**
+     * 清空缓存，已创建的插值器不受影响
+     */
+    public void evictAll() {
+        mCache.evictAll();
+    }
+}
@@ -0,0 +1,153 @@
+package com.bruce.bezier.interpolator;
+
+import android.os.Build;
+import android.os.Trace;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 贝塞尔插值器的运行指标，默认关闭
+ * 关闭时只在创建查找表和构造插值器时各读一次开关，getInterpolation没有任何额外开销；
+ * 开启后记录查找表创建耗时的直方图，并为之后构造的插值器统计查找次数。
+ * 缓存中的查找表个数、内存和命中率在获取时从{@link BezierLookupCache}计算，不需要额外记录。
+ * 另外可以单独开启{@link Trace}，查找表的创建会显示在systrace/Perfetto中。
+ */
+public class BezierMetrics {
+
+    /**直方图的桶数，第i个桶记录耗时在[2^(i-1), 2^i)微秒的次数，第0个桶为不足1微秒，最后一个桶包含所有更长的耗时 */
+    public static final int HISTOGRAM_BUCKETS = 24;
+
+    /**Trace中查找表创建的区间名称 */
+    static final String TRACE_BUILD_LOOKUP = "BezierLookup#build";
+
+    private static final BezierMetrics ourInstance = new BezierMetrics();
+
+    public static BezierMetrics getInstance() {
+        return ourInstance;
+    }
+
+    /**
+     * 指标监听器，在创建查找表的线程中回调，不要在回调中做耗时操作
+     */
+    public interface Listener {
+
+        /**
+         * 缓存未命中，创建了一张查找表
+         * @param lookupMode 查找方式
+         * @param controlPointCount 控制点个数
+         * @param durationNanos 创建耗时，纳秒
+         * @param tableBytes 查找表占用的堆内存字节数
+         */
+        void onLookupBuilt(int lookupMode, int controlPointCount, long durationNanos, int tableBytes);
+    }
+
+    private volatile boolean mEnabled;
+    private volatile boolean mTraceEnabled;
+    private volatile Listener mListener;
+    private final AtomicLongArray mBuildHistogram = new AtomicLongArray(HISTOGRAM_BUCKETS);
+
+    private BezierMetrics() {
+
+    }
+
+    /**
+     * 开启或关闭指标记录，只影响之后创建的查找表和构造的插值器
+     * @param enabled 是否开启
+     */
+    public void setEnabled(boolean enabled) {
+        mEnabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return mEnabled;
+    }
+
+    /**
+     * 开启或关闭Trace区间，需要API 18以上，更低的版本忽略
+     * @param traceEnabled 是否开启
+     */
+    public void setTraceEnabled(boolean traceEnabled) {
+        mTraceEnabled = traceEnabled && Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2;
+    }
+
+    public boolean isTraceEnabled() {
+        return mTraceEnabled;
+    }
+
+    /**
+     * @param listener 监听器，为null时移除
+     */
+    public void setListener(Listener listener) {
+        mListener = listener;
+    }
+
+    /**
+     * @return 查找表创建耗时的直方图副本，长度为{@link #HISTOGRAM_BUCKETS}
+     */
+    public long[] getBuildHistogram() {
+        long[] histogram = new long[HISTOGRAM_BUCKETS];
+        for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+            histogram[i] = mBuildHistogram.get(i);
+        }
+        return histogram;
+    }
+
+    /**
+     * @return 缓存中的查找表个数
+     */
+    public int getLiveTableCount() {
+        return BezierLookupCache.getInstance().size();
+    }
+
+    /**
+     * 遍历缓存的快照计算，不要在动画过程中调用
+     * @return 缓存中的查找表占用的堆内存字节数
+     */
+    public long getLiveTableBytes() {
+        return BezierLookupCache.getInstance().tableBytes();
+    }
+
+    /**
+     * @return 缓存命中率，还没有查找过时为0
+     */
+    public float getCacheHitRate() {
+        BezierLookupCache cache = BezierLookupCache.getInstance();
+        int hitCount = cache.hitCount();
+        int total = hitCount + cache.missCount();
+        return total == 0 ? 0 : (float) hitCount / total;
+    }
+
+    /**
+     * 清空直方图
+     */
+    public void reset() {
+        for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+            mBuildHistogram.set(i, 0);
+        }
+    }
+
+    /**
+     * 记录一次查找表创建
+     */
+    void onLookupBuilt(int lookupMode, int controlPointCount, long durationNanos, int tableBytes) {
+        long micros = durationNanos / 1000;
+        int bucket = Math.min(64 - Long.numberOfLeadingZeros(micros), HISTOGRAM_BUCKETS - 1);
+        mBuildHistogram.incrementAndGet(bucket);
+        Listener listener = mListener;
+        if (listener != null) {
+            listener.onLookupBuilt(lookupMode, controlPointCount, durationNanos, tableBytes);
+        }
+    }
+
+    void beginSection(String sectionName) {
+        if (mTraceEnabled) {
+            Trace.beginSection(sectionName);
+        }
+    }
+
+    void endSection() {
+        if (mTraceEnabled) {
+            Trace.endSection();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.bruce.bezier.interpolator;
+
+import android.graphics.PointF;
+import android.os.Process;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 贝塞尔插值器预热
+ * 在后台线程中创建查找表并放入{@link BezierLookupCache}，
+ * 之后在UI线程中用相同的控制点构造插值器只需一次哈希查找。
+ * 可以在应用启动时声明已知的曲线，避免动画开始时才计算查找表。
+ */
+public class BezierPrewarmer {
+
+    private static final int THREAD_COUNT = 2;
+    /**空闲线程存活时间，预热结束后线程自动退出 */
+    private static final long KEEP_ALIVE_SECONDS = 30;
+
+    private static final BezierPrewarmer ourInstance = new BezierPrewarmer();
+
+    public static BezierPrewarmer getInstance() {
+        return ourInstance;
+    }
+
+    private final ThreadPoolExecutor mExecutor;
+
+    private BezierPrewarmer() {
+        mExecutor = new ThreadPoolExecutor(THREAD_COUNT, THREAD_COUNT, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+            private final AtomicInteger mCount = new AtomicInteger();
+
+            @Override
+            public Thread newThread(final Runnable r) {
+                Thread thread = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                        r.run();
+                    }
+                }, "BezierPrewarmer #" + mCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        mExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * 在后台线程中创建插值器
+     * @param builder 插值器构造器，控制点需已复制，提交后不能再被修改
+     * @return 插值器
+     */
+    Future<BezierInterpolator> submit(final BezierInterpolator.Builder builder) {
+        return mExecutor.submit(new Callable<BezierInterpolator>() {
+            @Override
+            public BezierInterpolator call() throws Exception {
+                return builder.build();
+            }
+        });
+    }
+
+    /**
+     * 预热一组已知曲线，使用默认查找方式
+     * @param curves 控制点集合的列表
+     */
+    public void prewarm(List<ArrayList<PointF>> curves) {
+        for (ArrayList<PointF> controlPoints : curves) {
+            new BezierInterpolator.Builder(controlPoints).buildAsync();
+        }
+    }
+
+    /**
+     * 获取后台创建的插值器，尚未完成时直接在当前线程同步创建，不等待后台任务
+     * @param future {@link BezierInterpolator.Builder#buildAsync()}的返回值
+     * @param builder 同步创建时使用的构造器
+     * @return 插值器
+     */
+    public static BezierInterpolator getNow(Future<BezierInterpolator> future, BezierInterpolator.Builder builder) {
+        if (future != null && future.isDone()) {
+            try {
+                return future.get();
+            } catch (InterruptedException | ExecutionException e) {
+                //后台创建失败时同步创建，由构造器抛出真正的异常
+            }
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,90 @@
+package com.bruce.bezier.interpolator;
+
+import android.graphics.PointF;
+import android.view.animation.Interpolator;
+
+import com.bruce.bezier.core.BezierSpline;
+
+import java.util.ArrayList;
+
+/**
+ * 分段三阶贝塞尔曲线插值器
+ * 回弹、过冲后稳定等复杂曲线用多段三阶曲线连接，每帧的开销与单条三阶曲线相同，见{@link BezierSpline}
+ */
+public class BezierSplineInterpolator implements Interpolator {
+
+    /**连接点处只保证位置连续 */
+    public static final int CONTINUITY_C0 = BezierSpline.CONTINUITY_C0;
+    /**连接点处斜率连续 */
+    public static final int CONTINUITY_C1 = BezierSpline.CONTINUITY_C1;
+
+    private final BezierSpline mSpline;
+
+    /**
+     * @param controlPoints 控制点集合，依次为起点(0,0)、控制点、控制点、连接点...终点(1,1)，共3n + 1个
+     * @param continuity {@link #CONTINUITY_C0} 或 {@link #CONTINUITY_C1}
+     */
+    public BezierSplineInterpolator(ArrayList<PointF> controlPoints, int continuity) {
+        if (controlPoints == null) {
+            throw new IllegalArgumentException("控制点集合不能为空");
+        }
+        int size = controlPoints.size();
+        float[] xs = new float[size];
+        float[] ys = new float[size];
+        for (int i = 0; i < size; i++) {
+            xs[i] = controlPoints.get(i).x;
+            ys[i] = controlPoints.get(i).y;
+        }
+        mSpline = new BezierSpline(xs, ys, continuity);
+    }
+
+    /**
+     * @return 段数
+     */
+    public int getSegmentCount() {
+        return mSpline.getSegmentCount();
+    }
+
+    @Override
+    public float getInterpolation(float t) {
+        if (t <= 0) {
+            return 0;
+        } else if (t >= 1) {
+            return 1;
+        }
+        return mSpline.getInterpolation(t);
+    }
+
+    /**
+     * 批量插值，结果与逐个调用{@link #getInterpolation(float)}相同
+     * @param in 输入
+     * @param out 输出，可以与in为同一个数组
+     * @param offset 起始下标，in与out相同
+     * @param count 个数
+     */
+    public void getInterpolation(float[] in, float[] out, int offset, int count) {
+        if (offset < 0 || count < 0 || offset + count > in.length || offset + count > out.length) {
+            throw new IllegalArgumentException("下标越界：offset=" + offset + "，count=" + count);
+        }
+        mSpline.getInterpolation(in, out, offset, count);
+    }
+
+    /**
+     * 同时获取插值结果与斜率dy/dx，只查找一次，用于动画被打断时把当前速度交给弹簧等物理动画
+     * 斜率的单位为 插值结果 / 输入，属性的速度为 斜率 * (终值 - 起始值) / 时长。
+     * 输出数组由调用方提供，可以逐帧复用
+     * @param t 输入，超出[0,1]时取端点处的斜率
+     * @param out 长度至少为2，out[0]为插值结果，与{@link #getInterpolation(float)}相同，out[1]为斜率
+     */
+    public void getInterpolationAndVelocity(float t, float[] out) {
+        if (out.length < 2) {
+            throw new IllegalArgumentException("输出数组长度至少为2");
+        }
+        mSpline.getInterpolationAndVelocity(t <= 0 ? 0 : t >= 1 ? 1 : t, out);
+        if (t <= 0) {
+            out[0] = 0;
+        } else if (t >= 1) {
+            out[0] = 1;
+        }
+    }
+}
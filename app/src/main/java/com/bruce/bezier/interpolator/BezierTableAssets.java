@@ -0,0 +1,41 @@
+package com.bruce.bezier.interpolator;
+
+import android.content.Context;
+import android.content.res.AssetFileDescriptor;
+
+import com.bruce.bezier.core.BezierTableFile;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+
+/**
+ * 从assets中映射预计算查找表文件
+ * 文件在APK中不能被压缩，见app/build.gradle中的aaptOptions.noCompress
+ */
+public class BezierTableAssets {
+
+    private BezierTableAssets() {
+
+    }
+
+    /**
+     * 映射assets中的查找表文件，只建立映射，查找表在第一次访问时才由系统从APK中分页读入
+     * @param context Context
+     * @param assetName 文件在assets中的路径，如"curves.bzt"
+     * @return 查找表文件
+     * @throws IOException 文件不存在、被压缩或格式不正确
+     */
+    public static BezierTableFile open(Context context, String assetName) throws IOException {
+        AssetFileDescriptor descriptor = context.getAssets().openFd(assetName);
+        try {
+            FileInputStream in = descriptor.createInputStream();
+            try {
+                return BezierTableFile.map(in.getChannel(), descriptor.getStartOffset(), descriptor.getLength());
+            } finally {
+                in.close();
+            }
+        } finally {
+            descriptor.close();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.bruce.bezier.interpolator;
+
+import com.bruce.bezier.core.BezierLookup;
+
+/**
+ * 统计查找次数的查找策略包装，只在{@link BezierMetrics}开启时构造的插值器中使用
+ * 计数不加锁，多线程共享同一个插值器时可能少计，只用于观察
+ */
+final class CountingLookup implements BezierLookup {
+
+    private final BezierLookup mLookup;
+    private long mLookupCount;
+
+    CountingLookup(BezierLookup lookup) {
+        mLookup = lookup;
+    }
+
+    @Override
+    public float getInterpolation(float input) {
+        mLookupCount++;
+        return mLookup.getInterpolation(input);
+    }
+
+    @Override
+    public void getInterpolation(float[] in, float[] out, int offset, int count) {
+        mLookupCount += count;
+        mLookup.getInterpolation(in, out, offset, count);
+    }
+
+    @Override
+    public void getInterpolationAndVelocity(float input, float[] out) {
+        mLookupCount++;
+        mLookup.getInterpolationAndVelocity(input, out);
+    }
+
+    long getLookupCount() {
+        return mLookupCount;
+    }
+}
@@ -0,0 +1,98 @@
+package com.bruce.bezier.interpolator;
+
+import android.graphics.PointF;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * 查找表缓存的键：控制点坐标的副本加上查找方式与单调性处理方式
+ * 创建后不可变，控制点集合之后被修改也不影响已缓存的查找表
+ */
+final class CurveKey {
+
+    /**控制点X坐标 */
+    final float[] mXs;
+    /**控制点Y坐标 */
+    final float[] mYs;
+    /**查找方式 */
+    final int mLookupMode;
+    /**X方向等分查找表的长度，其它查找方式为0 */
+    final int mTableSize;
+    /**自适应细分的最大误差，其它查找方式为0 */
+    final float mTolerance;
+    /**X坐标不单调时的处理方式 */
+    final int mMonotonePolicy;
+
+    private final int mHashCode;
+
+    CurveKey(ArrayList<PointF> controlPoints, int lookupMode, int tableSize, float tolerance, int monotonePolicy) {
+        this(getXs(controlPoints), getYs(controlPoints), lookupMode, tableSize, tolerance, monotonePolicy);
+    }
+
+    /**
+     * @param xs 控制点X坐标，由调用方复制，之后不能再被修改
+     * @param ys 控制点Y坐标，由调用方复制，之后不能再被修改
+     */
+    CurveKey(float[] xs, float[] ys, int lookupMode, int tableSize, float tolerance, int monotonePolicy) {
+        for (int i = 0; i < xs.length; i++) {
+            //加0f把-0f规范为0f，使两者命中同一个缓存
+            xs[i] += 0f;
+            ys[i] += 0f;
+        }
+        mXs = xs;
+        mYs = ys;
+        mLookupMode = lookupMode;
+        mTableSize = lookupMode == BezierInterpolator.LOOKUP_UNIFORM
+                || lookupMode == BezierInterpolator.LOOKUP_UNIFORM_FIXED16 ? tableSize : 0;
+        mTolerance = lookupMode == BezierInterpolator.LOOKUP_ADAPTIVE ? tolerance : 0;
+        mMonotonePolicy = monotonePolicy;
+
+        int hashCode = Arrays.hashCode(mXs);
+        hashCode = 31 * hashCode + Arrays.hashCode(mYs);
+        hashCode = 31 * hashCode + mLookupMode;
+        hashCode = 31 * hashCode + mTableSize;
+        hashCode = 31 * hashCode + Float.floatToIntBits(mTolerance);
+        hashCode = 31 * hashCode + mMonotonePolicy;
+        mHashCode = hashCode;
+    }
+
+    private static float[] getXs(ArrayList<PointF> controlPoints) {
+        float[] xs = new float[controlPoints.size()];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = controlPoints.get(i).x;
+        }
+        return xs;
+    }
+
+    private static float[] getYs(ArrayList<PointF> controlPoints) {
+        float[] ys = new float[controlPoints.size()];
+        for (int i = 0; i < ys.length; i++) {
+            ys[i] = controlPoints.get(i).y;
+        }
+        return ys;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CurveKey)) {
+            return false;
+        }
+        CurveKey other = (CurveKey) o;
+        return mHashCode == other.mHashCode
+                && mLookupMode == other.mLookupMode
+                && mTableSize == other.mTableSize
+                && Float.compare(mTolerance, other.mTolerance) == 0
+                && mMonotonePolicy == other.mMonotonePolicy
+                && Arrays.equals(mXs, other.mXs)
+                && Arrays.equals(mYs, other.mYs);
+    }
+
+    @Override
+    public int hashCode() {
+        return mHashCode;
+    }
+}
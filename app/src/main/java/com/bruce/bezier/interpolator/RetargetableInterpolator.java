@@ -0,0 +1,107 @@
+package com.bruce.bezier.interpolator;
+
+import android.graphics.PointF;
+import android.view.animation.Interpolator;
+
+import com.bruce.bezier.core.RetargetableLookup;
+
+import java.util.ArrayList;
+
+/**
+ * 可重定向的贝塞尔插值器，用于手势快速改变方向时中途改变动画目标
+ * 不必每次都创建新的{@link BezierInterpolator}，重定向只修改起点斜率并原地重新采样查找表，不产生内存分配，见{@link RetargetableLookup}
+ * 用法：取消旧动画前用{@link #getInterpolationAndVelocity(float, float[])}得到当前值和速度，
+ * 调用{@link #retarget(float, float, float, long)}后以当前值为起点启动新动画，位置与速度都连续
+ * 插值器是可变的，不能在多个动画之间共享，只能在UI线程中使用
+ */
+public class RetargetableInterpolator implements Interpolator {
+
+    private final RetargetableLookup mLookup;
+
+    /**
+     * @param controlPoints 控制点集合，起点为(0,0)，终点为(1,1)，X坐标必须递增
+     */
+    public RetargetableInterpolator(ArrayList<PointF> controlPoints) {
+        if (controlPoints == null) {
+            throw new IllegalArgumentException("控制点集合不能为空");
+        }
+        int size = controlPoints.size();
+        float[] xs = new float[size];
+        float[] ys = new float[size];
+        for (int i = 0; i < size; i++) {
+            xs[i] = controlPoints.get(i).x;
+            ys[i] = controlPoints.get(i).y;
+        }
+        mLookup = new RetargetableLookup(xs, ys);
+    }
+
+    public RetargetableInterpolator(float cx1, float cy1, float cx2, float cy2) {
+        mLookup = new RetargetableLookup(new float[]{0, cx1, cx2, 1}, new float[]{0, cy1, cy2, 1});
+    }
+
+    /**
+     * 中途改变动画目标，使新动画的起点速度等于当前速度
+     * 起点斜率 = velocity * duration / 1000 / (targetValue - currentValue)
+     * @param currentValue 属性的当前值，即新动画的起始值
+     * @param velocity 属性的当前速度，单位为 值/秒，与VelocityTracker相同
+     * @param targetValue 新动画的终值，与当前值相同时无法保持速度，起点斜率取0
+     * @param duration 新动画的时长，毫秒
+     */
+    public void retarget(float currentValue, float velocity, float targetValue, long duration) {
+        if (duration <= 0) {
+            throw new IllegalArgumentException("动画时长必须大于0");
+        }
+        float distance = targetValue - currentValue;
+        setInitialSlope(distance == 0 ? 0 : velocity * duration / 1000f / distance);
+    }
+
+    /**
+     * 直接设置起点斜率dy/dx
+     * @param slope 起点斜率，必须为有限值
+     */
+    public void setInitialSlope(float slope) {
+        mLookup.setInitialSlope(slope);
+    }
+
+    /**
+     * @return 起点斜率dy/dx
+     */
+    public float getInitialSlope() {
+        return mLookup.getInitialSlope();
+    }
+
+    /**
+     * 恢复构造时的曲线
+     */
+    public void reset() {
+        mLookup.reset();
+    }
+
+    @Override
+    public float getInterpolation(float t) {
+        if (t <= 0) {
+            return 0;
+        } else if (t >= 1) {
+            return 1;
+        }
+        return mLookup.getInterpolation(t);
+    }
+
+    /**
+     * 同时获取插值结果与斜率，只查找一次，见{@link BezierInterpolator#getInterpolationAndVelocity(float, float[])}
+     * 属性的速度为 斜率 * (终值 - 起始值) / 时长
+     * @param t 输入，超出[0,1]时取端点处的斜率
+     * @param out 长度至少为2，out[0]为插值结果，out[1]为斜率
+     */
+    public void getInterpolationAndVelocity(float t, float[] out) {
+        if (out.length < 2) {
+            throw new IllegalArgumentException("输出数组长度至少为2");
+        }
+        mLookup.getInterpolationAndVelocity(t <= 0 ? 0 : t >= 1 ? 1 : t, out);
+        if (t <= 0) {
+            out[0] = 0;
+        } else if (t >= 1) {
+            out[0] = 1;
+        }
+    }
+}
@@ -2,17 +2,19 @@ package com.bruce.bezier.utils;
 
 import android.graphics.PointF;
 
+import com.bruce.bezier.core.BezierCurve;
+import com.bruce.bezier.core.BezierTables;
+
 import java.util.ArrayList;
 
 /**
  * 贝塞尔曲线工具
+ * 把PointF控制点转换为bezier-core中的基本类型，曲线计算本身都在bezier-core中完成。
+ * 不保存任何曲线状态，每次调用的曲线都保存在不可变的{@link BezierCurve}中，可以在任意线程中并发调用
  * Created by Bruce on 2017/6/15.
  */
 public class BezierUtils {
 
-    private static final int UNIT_EQUAL_PARTS = 1000;
-    private ArrayList<PointF> mControlPoints;
-
     private static final BezierUtils ourInstance = new BezierUtils();
 
 
@@ -25,31 +27,42 @@ public class BezierUtils {
     }
 
     /**
-     * 贝塞尔曲线上t时间上点的Y坐标
-     * @param i 阶数
-     * @param j 控制点的下标
-     * @param t 时间
-     * @return 曲线在t时间上点的X坐标
+     * 控制点X坐标
+     * @param controlPoints 控制点集合
+     * @return X坐标数组
+     */
+    public float[] getXs(ArrayList<PointF> controlPoints) {
+        float[] xs = new float[controlPoints.size()];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = controlPoints.get(i).x;
+        }
+        return xs;
+    }
+
+    /**
+     * 控制点Y坐标
+     * @param controlPoints 控制点集合
+     * @return Y坐标数组
      */
-    private float bezierPointX(int i, int j, float t) {
-        if (i == 1) {
-            return (1 - t) * mControlPoints.get(j).x + t * mControlPoints.get(j + 1).x;
+    public float[] getYs(ArrayList<PointF> controlPoints) {
+        float[] ys = new float[controlPoints.size()];
+        for (int i = 0; i < ys.length; i++) {
+            ys[i] = controlPoints.get(i).y;
         }
-        return (1 - t) * bezierPointX(i - 1, j, t) + t * bezierPointX(i - 1, j + 1, t);
+        return ys;
     }
 
     /**
-     * 贝塞尔曲线上t时间上点的Y坐标
-     * @param i 阶数
-     * @param j 控制点的下标
-     * @param t 时间
-     * @return 曲线在t时间上点的Y坐标
+     * 根据控制点创建曲线多项式， 控制点集合长度必须大于2
+     * 控制点坐标在调用线程上复制，之后修改控制点不影响返回的曲线
+     * @param controlPoints 控制点集合
+     * @return 曲线多项式
      */
-    private float bezierPointY(int i, int j, float t) {
-        if (i == 1) {
-            return (1 - t) * mControlPoints.get(j).y + t * mControlPoints.get(j + 1).y;
+    public BezierCurve buildBezierCurve(ArrayList<PointF> controlPoints) {
+        if(controlPoints == null || controlPoints.size() <= 2) {
+            throw new IllegalArgumentException("控制点集合不能为空，且控制点个数必须大于2");
         }
-        return (1 - t) * bezierPointY(i - 1, j, t) + t * bezierPointY(i - 1, j + 1, t);
+        return new BezierCurve(getXs(controlPoints), getYs(controlPoints));
     }
 
     /**
@@ -59,18 +72,58 @@ public class BezierUtils {
      * @return 贝塞尔曲线点集合
      */
     public ArrayList<PointF> buildBezierPoints(ArrayList<PointF> controlPoints) {
-        if(controlPoints == null || controlPoints.size() <= 2) {
-            throw new IllegalArgumentException("控制点集合不能为空，且控制点个数必须大于2");
-        }
-        mControlPoints = controlPoints;
-        ArrayList<PointF> points = new ArrayList<>();
-        //阶数
-        int order = mControlPoints.size() - 1;
-        float delta = 1.0f / UNIT_EQUAL_PARTS;
-        for (float t = 0; t <= 1; t += delta) {
+        float[] pointArray = buildBezierPointArray(controlPoints);
+        ArrayList<PointF> points = new ArrayList<>(pointArray.length / 2);
+        for (int i = 0; i < pointArray.length; i += 2) {
             // Bezier点集
-            points.add(new PointF(bezierPointX(order, 0, t), bezierPointY(order, 0, t)));
+            points.add(new PointF(pointArray[i], pointArray[i + 1]));
         }
         return points;
     }
+
+    /**
+     * 创建Bezier点集，结果以X、Y交错的方式存放在一个float数组中：{x0, y0, x1, y1, ...}
+     * 不创建中间的PointF对象，供插值器直接查找，共{@link BezierTables#UNIT_SAMPLE_COUNT}个点，包含起点和终点
+     * @param controlPoints 控制点集合
+     * @return 贝塞尔曲线点集合
+     */
+    public float[] buildBezierPointArray(ArrayList<PointF> controlPoints) {
+        return BezierTables.buildBezierPointArray(buildBezierCurve(controlPoints));
+    }
+
+    /**
+     * 创建Bezier点集并写入已分配的数组，控制点变化时可以重复使用同一个数组
+     * @param controlPoints 控制点集合
+     * @param points 长度为{@link BezierTables#UNIT_SAMPLE_COUNT} * 2的数组
+     */
+    public void buildBezierPointArray(ArrayList<PointF> controlPoints, float[] points) {
+        BezierTables.buildBezierPointArray(buildBezierCurve(controlPoints), points);
+    }
+
+    /**
+     * 按t等分为指定段数创建Bezier点集，结果以X、Y交错的方式存放
+     * 使用前向差分，每个点只需加法，段数较多时比逐点求值快
+     * @param controlPoints 控制点集合
+     * @param segments 采样段数，至少为1
+     * @return 贝塞尔曲线点集合，共segments + 1个点，包含起点和终点
+     */
+    public float[] buildBezierPointArray(ArrayList<PointF> controlPoints, int segments) {
+        if (segments < 1) {
+            throw new IllegalArgumentException("采样段数至少为1");
+        }
+        float[] points = new float[(segments + 1) * 2];
+        buildBezierCurve(controlPoints).sample(segments, points);
+        return points;
+    }
+
+    /**
+     * 自适应细分创建Bezier点集
+     * @param controlPoints 控制点集合
+     * @param tolerance 允许的最大误差
+     * @param flatness {@link BezierTables#FLATNESS_DISTANCE} 或 {@link BezierTables#FLATNESS_VERTICAL}
+     * @return 贝塞尔曲线点集合
+     */
+    public float[] buildAdaptiveBezierPointArray(ArrayList<PointF> controlPoints, float tolerance, int flatness) {
+        return BezierTables.buildAdaptiveBezierPointArray(getXs(controlPoints), getYs(controlPoints), tolerance, flatness);
+    }
 }
@@ -3,7 +3,6 @@ package com.bruce.bezier.widgets;
 import android.content.Context;
 import android.graphics.Canvas;
 import android.graphics.Color;
-import android.graphics.DashPathEffect;
 import android.graphics.Paint;
 import android.graphics.Path;
 import android.graphics.PointF;
@@ -15,6 +14,8 @@ import android.view.MotionEvent;
 import android.view.View;
 
 import com.bruce.bezier.R;
+import com.bruce.bezier.core.BezierCurve;
+import com.bruce.bezier.core.BezierSampler;
 import com.bruce.bezier.utils.DisplayUtil;
 
 import java.lang.reflect.Array;
@@ -36,8 +37,12 @@ public class BezierView extends View {
     /**坐标间隔 */
     private static final float COORDINATE_TEXT_SPACING = 40;
 
-    /**贝塞尔曲线在单位1的时间下等分数 */
-    public static final float UNIT_EQUAL_PARTS = 1000;
+    /**绘制曲线时允许的最大误差，单位px */
+    private static final float PATH_TOLERANCE = 0.5f;
+    /**绘制曲线时最多的线段数 */
+    private static final int MAX_PATH_SEGMENTS = 1000;
+    /**辅助线虚线的实线段与间隔长度 */
+    private static final float ASSIST_LINE_DASH = 5;
 
     /**画布宽度 */
     private float mWidth;
@@ -57,6 +62,8 @@ public class BezierView extends View {
 
     /**路径画笔 */
     private Paint mPathPaint;
+    /**动画实际使用的曲线画笔 */
+    private Paint mAnimatorPathPaint;
     /**控制点画笔 */
     private Paint mPointPaint1, mPointPaint2, mPointPaint3;
     /**坐标画笔 */
@@ -66,14 +73,42 @@ public class BezierView extends View {
     /**控制点连接线线画笔 */
     private Paint mControlLinePaint;
 
-    /**路径 */
+    /**辅助线虚线切分后的线段，每4个数为一段：{x0, y0, x1, y1, ...}，尺寸改变时重建 */
+    private float[] mAssistLineDashes;
+
+    /**曲线路径，只在控制点或尺寸改变时重建 */
     private Path mPath;
+    /**X坐标不单调时动画实际使用的曲线路径，见{@link BezierCurve#toMonotoneHull(float[])} */
+    private Path mAnimatorPath;
+    /**X坐标不单调，动画使用的曲线与控制点确定的曲线不同 */
+    private boolean mAnimatorPathClamped;
+    /**X坐标不单调时的提示文本 */
+    private String mClampHint;
 
     /**控制点集合坐标 */
     private final ArrayList<PointF> mControlPoints = new ArrayList<>();
 
-    /**贝塞尔点集合坐标 */
-    private ArrayList<PointF> mBezierPoints = null;
+    /**贝塞尔曲线采样器，复用缓冲，拖动时不产生垃圾 */
+    private BezierSampler mSampler;
+    /**采样时使用的控制点坐标 */
+    private float[] mControlXs, mControlYs;
+    /**单调化后的控制点X坐标 */
+    private float[] mHullXs;
+    /**单调化计算的缓冲 */
+    private double[] mHullSums;
+    private int[] mHullSizes;
+    /**判断X坐标是否单调的缓冲 */
+    private double[] mMonotoneWork;
+    /**控制点已改变，曲线路径需要在下一次绘制前重建 */
+    private boolean mBezierDirty;
+
+    /**控制点坐标文本，控制点改变时才重新生成 */
+    private final String[] mPointCoordinateTexts = new String[3];
+    /**控制点坐标文本宽度 */
+    private final float[] mPointCoordinateWidths = new float[3];
+
+    /**触控区域，复用避免每次触摸事件分配 */
+    private final RectF mTouchRect = new RectF();
 
     /**当前触控点 */
     private PointF mCurPoint;
@@ -131,7 +166,6 @@ public class BezierView extends View {
         mAssistLinePaint.setStyle(Paint.Style.STROKE);
         mAssistLinePaint.setStrokeWidth(DEFAULT_LINE_WIDTH);
         mAssistLinePaint.setColor(Color.BLACK);
-        mAssistLinePaint.setPathEffect(new DashPathEffect(new float[]{5, 5}, 0));
 
         mControlLinePaint = new Paint();
         mControlLinePaint.setAntiAlias(true);
@@ -139,12 +173,30 @@ public class BezierView extends View {
         mControlLinePaint.setStrokeWidth(DEFAULT_LINE_WIDTH - 2);
         mControlLinePaint.setColor(getColor(R.color.md_teal_500));
 
+        mAnimatorPathPaint = new Paint();
+        mAnimatorPathPaint.setAntiAlias(true);
+        mAnimatorPathPaint.setStyle(Paint.Style.STROKE);
+        mAnimatorPathPaint.setStrokeWidth(DEFAULT_LINE_WIDTH - 2);
+        mAnimatorPathPaint.setColor(getColor(R.color.md_red_200));
+        mAnimatorPathPaint.setTextSize(DisplayUtil.sp2px(getContext(), 14));
+
         mPath = new Path();
+        mAnimatorPath = new Path();
+        mClampHint = getResources().getString(R.string.monotone_clamp_hint);
 
         mControlPoints.clear();
         for (int i = 0; i < 5; i++) {
             mControlPoints.add(new PointF());
         }
+        mSampler = new BezierSampler(mControlPoints.size(), MAX_PATH_SEGMENTS);
+        mControlXs = new float[mControlPoints.size()];
+        mControlYs = new float[mControlPoints.size()];
+        mHullXs = new float[mControlPoints.size()];
+        mHullSums = new double[mControlPoints.size()];
+        mHullSizes = new int[mControlPoints.size()];
+        mMonotoneWork = new double[mControlPoints.size() * mControlPoints.size()];
+
+        setBackgroundColor(getColor(R.color.grey));
     }
 
     /**
@@ -205,6 +257,7 @@ public class BezierView extends View {
         mVAssistLineX = mWidth - DEFAULT_POINT_RADIUS;
         mOriginPoint.x = parseX(0);
         mOriginPoint.y = parseY(0);
+        mAssistLineDashes = buildAssistLineDashes();
 
         //贝塞尔曲线起点
         mControlPoints.get(0).x = mOriginPoint.x;
@@ -223,13 +276,18 @@ public class BezierView extends View {
         mControlPoints.get(4).x = parseX(mCoordinateWidth);
         mControlPoints.get(4).y = parseY(mCoordinateWidth);
 
-        mBezierPoints = buildBezierPoints();
+        mBezierDirty = true;
     }
 
     @Override
     protected void onDraw(Canvas canvas) {
         super.onDraw(canvas);
-        setBackgroundColor(getColor(R.color.grey));
+        //多个触摸事件合并为每帧一次重建，其它原因引起的重绘直接使用缓存的路径
+        if (mBezierDirty) {
+            mBezierDirty = false;
+            buildBezierPath();
+            buildPointCoordinateTexts();
+        }
         drawCoordinate(canvas);
         drawPoint(canvas);
         drawPointCoordinate(canvas);
@@ -254,16 +312,38 @@ public class BezierView extends View {
      * @param canvas canvas
      */
     private void drawCoordinate(Canvas canvas) {
-        setLayerType(View.LAYER_TYPE_SOFTWARE, null);
         //Y坐标
         canvas.drawLine(mOriginPoint.x, 0, mOriginPoint.x, mHeight, mCoordinatePaint);
         //X坐标
         canvas.drawLine(0, mOriginPoint.y, mWidth, mOriginPoint.y, mCoordinatePaint);
 
-        //横向辅助线
-        canvas.drawLine(0, mHAssistLineY, mWidth, mHAssistLineY, mAssistLinePaint);
-        //纵向辅助线
-        canvas.drawLine(mVAssistLineX, 0, mVAssistLineX, mHeight, mAssistLinePaint);
+        //横向、纵向辅助线，一次绘制所有虚线段
+        canvas.drawLines(mAssistLineDashes, mAssistLinePaint);
+    }
+
+    /**
+     * 把横向、纵向辅助线切分为虚线段，效果与DashPathEffect相同，但不需要软件图层
+     * @return 虚线段，每4个数为一段
+     */
+    private float[] buildAssistLineDashes() {
+        float period = ASSIST_LINE_DASH * 2;
+        int hCount = (int) Math.ceil(mWidth / period);
+        int vCount = (int) Math.ceil(mHeight / period);
+        float[] dashes = new float[(hCount + vCount) * 4];
+        int index = 0;
+        for (int i = 0; i < hCount; i++) {
+            dashes[index++] = i * period;
+            dashes[index++] = mHAssistLineY;
+            dashes[index++] = Math.min(i * period + ASSIST_LINE_DASH, mWidth);
+            dashes[index++] = mHAssistLineY;
+        }
+        for (int i = 0; i < vCount; i++) {
+            dashes[index++] = mVAssistLineX;
+            dashes[index++] = i * period;
+            dashes[index++] = mVAssistLineX;
+            dashes[index++] = Math.min(i * period + ASSIST_LINE_DASH, mHeight);
+        }
+        return dashes;
     }
 
     /**
@@ -286,19 +366,30 @@ public class BezierView extends View {
      * @param canvas canvas
      */
     private void drawPointCoordinate(Canvas canvas) {
-        //测量坐标文本宽度
-        float pointCoordinateWidth1 = mPointPaint1.measureText(getPointCoordinateText(mControlPoints.get(1)));
-        float pointCoordinateWidth2 = mPointPaint2.measureText(getPointCoordinateText(mControlPoints.get(2)));
-        float pointCoordinateWidth3 = mPointPaint3.measureText(getPointCoordinateText(mControlPoints.get(3)));
+        float pointCoordinateWidth1 = mPointCoordinateWidths[0];
+        float pointCoordinateWidth2 = mPointCoordinateWidths[1];
+        float pointCoordinateWidth3 = mPointCoordinateWidths[2];
 
         //坐标绘制起始X坐标
         float point1X = (mWidth - pointCoordinateWidth1 - pointCoordinateWidth2 - pointCoordinateWidth3 - COORDINATE_TEXT_SPACING * 2) / 2.0f;
         float point2X = point1X + pointCoordinateWidth1 + COORDINATE_TEXT_SPACING;
         float point3X = point2X + pointCoordinateWidth2 + COORDINATE_TEXT_SPACING;
 
-        canvas.drawText(getPointCoordinateText(mControlPoints.get(1)), point1X, 70, mPointPaint1);
-        canvas.drawText(getPointCoordinateText(mControlPoints.get(2)), point2X, 70, mPointPaint2);
-        canvas.drawText(getPointCoordinateText(mControlPoints.get(3)), point3X, 70, mPointPaint3);
+        canvas.drawText(mPointCoordinateTexts[0], point1X, 70, mPointPaint1);
+        canvas.drawText(mPointCoordinateTexts[1], point2X, 70, mPointPaint2);
+        canvas.drawText(mPointCoordinateTexts[2], point3X, 70, mPointPaint3);
+    }
+
+    /**
+     * 生成控制点坐标文本并测量宽度
+     */
+    private void buildPointCoordinateTexts() {
+        mPointCoordinateTexts[0] = getPointCoordinateText(mControlPoints.get(1));
+        mPointCoordinateTexts[1] = getPointCoordinateText(mControlPoints.get(2));
+        mPointCoordinateTexts[2] = getPointCoordinateText(mControlPoints.get(3));
+        mPointCoordinateWidths[0] = mPointPaint1.measureText(mPointCoordinateTexts[0]);
+        mPointCoordinateWidths[1] = mPointPaint2.measureText(mPointCoordinateTexts[1]);
+        mPointCoordinateWidths[2] = mPointPaint3.measureText(mPointCoordinateTexts[2]);
     }
 
     private String getPointCoordinateText(PointF point) {
@@ -342,12 +433,11 @@ public class BezierView extends View {
         if(mPath == null) {
             return;
         }
-        mPath.reset();
-        mPath.moveTo(mControlPoints.get(0).x, mControlPoints.get(0).y);
-        for (PointF point : mBezierPoints) {
-            mPath.lineTo(point.x, point.y);
-        }
         canvas.drawPath(mPath, mPathPaint);
+        if (mAnimatorPathClamped) {
+            canvas.drawPath(mAnimatorPath, mAnimatorPathPaint);
+            canvas.drawText(mClampHint, (mWidth - mAnimatorPathPaint.measureText(mClampHint)) / 2.0f, 130, mAnimatorPathPaint);
+        }
     }
 
     /**
@@ -358,7 +448,7 @@ public class BezierView extends View {
      * @return point
      */
     private PointF getLegalControlPoint(float x, float y) {
-        RectF rect = new RectF();
+        RectF rect = mTouchRect;
         PointF point;
         for (int i = 1; i < mControlPoints.size() - 1; i++) {
             point = mControlPoints.get(i);
@@ -393,7 +483,7 @@ public class BezierView extends View {
         if (x < DEFAULT_POINT_RADIUS || x > mWidth - DEFAULT_POINT_RADIUS || y < DEFAULT_POINT_RADIUS || y > mHeight - DEFAULT_POINT_RADIUS) {
             return false;
         }
-        RectF rectF = new RectF();
+        RectF rectF = mTouchRect;
         PointF point;
         for (int i = 1; i < mControlPoints.size() - 1; i++) {
             point = mControlPoints.get(i);
@@ -422,7 +512,7 @@ public class BezierView extends View {
                 if(mCurPoint != null && isLegalTouchRegion(x, y)) {
                     mCurPoint.x = x;
                     mCurPoint.y = y;
-                    mBezierPoints = buildBezierPoints();
+                    mBezierDirty = true;
                     invalidate();
                 }
                 break;
@@ -435,47 +525,55 @@ public class BezierView extends View {
     }
 
     /**
-     * 贝塞尔曲线上t时间上点的Y坐标
-     * @param i 阶数
-     * @param j 控制点的下标
-     * @param t 时间
-     * @return 曲线在t时间上点的X坐标
+     * 重建曲线路径
+     * 三阶及以下的曲线直接使用Path的贝塞尔曲线，更高阶的曲线重新采样为折线，
+     * 采样数按误差确定，平缓的曲线点少，弯曲的曲线点多
      */
-    private float bezierPointX(int i, int j, float t) {
-        if (i == 1) {
-            return (1 - t) * mControlPoints.get(j).x + t * mControlPoints.get(j + 1).x;
+    private void buildBezierPath() {
+        int count = mControlPoints.size();
+        for (int i = 0; i < count; i++) {
+            mControlXs[i] = mControlPoints.get(i).x;
+            mControlYs[i] = mControlPoints.get(i).y;
         }
-        return (1 - t) * bezierPointX(i - 1, j, t) + t * bezierPointX(i - 1, j + 1, t);
+        buildBezierPath(mPath, mControlXs, mControlYs, count);
+        buildAnimatorPath(count);
     }
 
     /**
-     * 贝塞尔曲线上t时间上点的Y坐标
-     * @param i 阶数
-     * @param j 控制点的下标
-     * @param t 时间
-     * @return 曲线在t时间上点的Y坐标
+     * 插值器默认按{@link com.bruce.bezier.interpolator.BezierInterpolator#MONOTONE_CLAMP}处理X坐标不单调的曲线，
+     * 动画实际使用的是X方向控制点单调化后的曲线，与控制点确定的曲线一起绘制，避免两者不一致
+     * 拖动时每帧调用，单调性判断与单调化都使用预先分配的缓冲
      */
-    private float bezierPointY(int i, int j, float t) {
-        if (i == 1) {
-            return (1 - t) * mControlPoints.get(j).y + t * mControlPoints.get(j + 1).y;
+    private void buildAnimatorPath(int count) {
+        mAnimatorPathClamped = !BezierCurve.isMonotone(mControlXs, count, mMonotoneWork);
+        if (!mAnimatorPathClamped) {
+            return;
         }
-        return (1 - t) * bezierPointY(i - 1, j, t) + t * bezierPointY(i - 1, j + 1, t);
+        BezierCurve.toMonotoneHull(mControlXs, count, mHullXs, mHullSums, mHullSizes);
+        buildBezierPath(mAnimatorPath, mHullXs, mControlYs, count);
     }
 
-    /**
-     * 创建Bezier点集
-     *
-     * @return Bezier曲线点集
-     */
-    private ArrayList<PointF> buildBezierPoints() {
-        ArrayList<PointF> points = new ArrayList<>();
-        //阶数
-        int order = mControlPoints.size() - 1;
-        float delta = 1.0f / UNIT_EQUAL_PARTS;
-        for (float t = 0; t <= 1; t += delta) {
-            // Bezier点集
-            points.add(new PointF(bezierPointX(order, 0, t), bezierPointY(order, 0, t)));
+    private void buildBezierPath(Path path, float[] xs, float[] ys, int count) {
+        path.reset();
+        path.moveTo(xs[0], ys[0]);
+        switch (count) {
+            case 2:
+                path.lineTo(xs[1], ys[1]);
+                break;
+            case 3:
+                path.quadTo(xs[1], ys[1], xs[2], ys[2]);
+                break;
+            case 4:
+                path.cubicTo(xs[1], ys[1], xs[2], ys[2], xs[3], ys[3]);
+                break;
+            default:
+                mSampler.sample(xs, ys, count, PATH_TOLERANCE);
+                float[] points = mSampler.getPoints();
+                int length = mSampler.getPointCount() * 2;
+                for (int i = 2; i < length; i += 2) {
+                    path.lineTo(points[i], points[i + 1]);
+                }
+                break;
         }
-        return points;
     }
 }
@@ -0,0 +1,124 @@
+package com.bruce.bezier.benchmark;
+
+import com.bruce.bezier.core.BezierCurve;
+import com.bruce.bezier.core.BezierError;
+import com.bruce.bezier.core.BezierLookup;
+import com.bruce.bezier.core.BezierLookups;
+
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * 各查找策略的误差与开销报告，用于选择满足误差要求的最便宜的策略
+ * ./gradlew :benchmark:accuracyReport [-Ptolerance=0.0001]
+ *
+ * 误差：在随机生成的X坐标单调的控制点上，与double精度下求解x(t) = input的结果比较，取所有曲线中最差的一条
+ * 开销：构造耗时、查找表堆内存和单次查找耗时，查找耗时为简单计时，严格的数据见{@link LookupBenchmark}
+ */
+public class AccuracyReport {
+
+    /**每个阶数随机生成的曲线数 */
+    private static final int CURVES_PER_ORDER = 50;
+    private static final int MIN_ORDER = 2;
+    private static final int MAX_ORDER = 8;
+    private static final int BATCH_SIZE = 1024;
+    private static final int BATCH_ROUNDS = 1024;
+
+    private static final Strategy[] STRATEGIES = {
+            new Strategy("parametric", BezierLookups.LOOKUP_PARAMETRIC, 0, 0),
+            new Strategy("uniform/257", BezierLookups.LOOKUP_UNIFORM, 257, 0),
+            new Strategy("uniform/1025", BezierLookups.LOOKUP_UNIFORM, 1025, 0),
+            new Strategy("fixed16/257", BezierLookups.LOOKUP_UNIFORM_FIXED16, 257, 0),
+            new Strategy("fixed16/1025", BezierLookups.LOOKUP_UNIFORM_FIXED16, 1025, 0),
+            new Strategy("adaptive/1e-4", BezierLookups.LOOKUP_ADAPTIVE, 0, 1e-4f),
+            new Strategy("adaptive/1e-5", BezierLookups.LOOKUP_ADAPTIVE, 0, 1e-5f),
+            new Strategy("analytic", BezierLookups.LOOKUP_ANALYTIC, 0, 0),
+    };
+
+    public static void main(String[] args) {
+        float tolerance = args.length > 0 ? Float.parseFloat(args[0]) : BezierLookups.DEFAULT_TOLERANCE;
+        System.out.println(String.format(Locale.US, "%-14s %-6s %12s %12s %10s %10s %10s",
+                "strategy", "order", "max error", "rms error", "build us", "bytes", "lookup ns"));
+
+        Strategy cheapest = null;
+        for (Strategy strategy : STRATEGIES) {
+            float worstMax = 0;
+            double worstRms = 0;
+            long buildNanos = 0;
+            long bytes = 0;
+            int curveCount = 0;
+            BezierLookup sample = null;
+            for (int order = MIN_ORDER; order <= MAX_ORDER; order++) {
+                if (strategy.mLookupMode == BezierLookups.LOOKUP_ANALYTIC && order != 3) {
+                    continue;
+                }
+                for (int i = 0; i < CURVES_PER_ORDER; i++) {
+                    float[][] points = Curves.randomControlPoints(order, order * 1000 + i);
+                    long start = System.nanoTime();
+                    BezierLookup lookup = BezierLookups.create(points[0], points[1],
+                            strategy.mLookupMode, strategy.mTableSize, strategy.mTolerance);
+                    buildNanos += System.nanoTime() - start;
+                    BezierError error = BezierError.measure(new BezierCurve(points[0], points[1]), lookup,
+                            BezierError.DEFAULT_PROBE_COUNT);
+                    worstMax = Math.max(worstMax, error.getMaxError());
+                    worstRms = Math.max(worstRms, error.getRmsError());
+                    bytes += BezierLookups.getTableBytes(lookup);
+                    curveCount++;
+                    sample = lookup;
+                }
+            }
+            double lookupNanos = timeLookup(sample);
+            System.out.println(String.format(Locale.US, "%-14s %-6s %12.3g %12.3g %10.1f %10d %10.1f",
+                    strategy.mName, strategy.mLookupMode == BezierLookups.LOOKUP_ANALYTIC ? "3" : MIN_ORDER + "-" + MAX_ORDER,
+                    worstMax, worstRms, buildNanos / 1000.0 / curveCount, bytes / curveCount, lookupNanos));
+
+            //解析求解只支持三阶曲线，不参与推荐
+            if (worstMax <= tolerance && strategy.mLookupMode != BezierLookups.LOOKUP_ANALYTIC
+                    && (cheapest == null || bytes / curveCount < cheapest.mBytes)) {
+                cheapest = strategy;
+                cheapest.mBytes = bytes / curveCount;
+            }
+        }
+        System.out.println();
+        System.out.println("tolerance " + tolerance + ": "
+                + (cheapest == null ? "no table strategy meets it" : "smallest table strategy is " + cheapest.mName));
+    }
+
+    /**
+     * 单次查找的平均耗时，用批量查找计时，避免不同查找策略在同一个调用点上互相影响内联
+     */
+    private static double timeLookup(BezierLookup lookup) {
+        Random random = new Random(BATCH_SIZE);
+        float[] in = new float[BATCH_SIZE];
+        float[] out = new float[BATCH_SIZE];
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            in[i] = Math.max(Float.MIN_VALUE, random.nextFloat());
+        }
+        long nanos = 0;
+        for (int round = 0; round < 2; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < BATCH_ROUNDS; i++) {
+                lookup.getInterpolation(in, out, 0, BATCH_SIZE);
+            }
+            //第一轮为预热
+            nanos = System.nanoTime() - start;
+        }
+        return (double) nanos / BATCH_ROUNDS / BATCH_SIZE;
+    }
+
+    private static final class Strategy {
+
+        final String mName;
+        final int mLookupMode;
+        final int mTableSize;
+        final float mTolerance;
+        long mBytes;
+
+        Strategy(String name, int lookupMode, int tableSize, float tolerance) {
+            mName = name;
+            mLookupMode = lookupMode;
+            mTableSize = tableSize;
+            mTolerance = tolerance;
+        }
+    }
+}
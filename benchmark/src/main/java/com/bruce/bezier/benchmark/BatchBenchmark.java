@@ -0,0 +1,71 @@
+package com.bruce.bezier.benchmark;
+
+import com.bruce.bezier.core.BezierLookup;
+import com.bruce.bezier.core.BezierLookups;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 一个时钟驱动1000个动画：逐个调用与批量调用的对比
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Param({"parametric", "uniform", "analytic", "adaptive"})
+    public String lookup;
+
+    @Param({"sorted", "random"})
+    public String order;
+
+    private BezierLookup mLookup;
+    private final float[] mInputs = new float[BATCH_SIZE];
+    private final float[] mOutputs = new float[BATCH_SIZE];
+
+    @Setup
+    public void setup() {
+        mLookup = BezierLookups.create(Curves.EASE_XS, Curves.EASE_YS, LookupBenchmark.lookupMode(lookup),
+                BezierLookups.DEFAULT_UNIFORM_TABLE_SIZE, BezierLookups.DEFAULT_TOLERANCE);
+        Random random = new Random(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            mInputs[i] = Math.max(Float.MIN_VALUE, random.nextFloat());
+        }
+        if ("sorted".equals(order)) {
+            Arrays.sort(mInputs);
+        }
+    }
+
+    @Benchmark
+    public float[] scalar() {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            mOutputs[i] = mLookup.getInterpolation(mInputs[i]);
+        }
+        return mOutputs;
+    }
+
+    @Benchmark
+    public float[] batch() {
+        mLookup.getInterpolation(mInputs, mOutputs, 0, BATCH_SIZE);
+        return mOutputs;
+    }
+}
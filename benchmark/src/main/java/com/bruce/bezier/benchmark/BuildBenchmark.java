@@ -0,0 +1,86 @@
+package com.bruce.bezier.benchmark;
+
+import com.bruce.bezier.core.BezierCurve;
+import com.bruce.bezier.core.BezierLookup;
+import com.bruce.bezier.core.BezierLookups;
+import com.bruce.bezier.core.BezierTables;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 查找表构造耗时，阶数2~10
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BuildBenchmark {
+
+    @Param({"2", "3", "4", "5", "6", "7", "8", "9", "10"})
+    public int order;
+
+    private float[] mXs;
+    private float[] mYs;
+    private BezierCurve mCurve;
+    private final float[] mPoints = new float[BezierTables.UNIT_SAMPLE_COUNT * 2];
+
+    @Setup
+    public void setup() {
+        float[][] points = Curves.randomControlPoints(order, order);
+        mXs = points[0];
+        mYs = points[1];
+        mCurve = new BezierCurve(mXs, mYs);
+    }
+
+    @Benchmark
+    public BezierCurve curve() {
+        return new BezierCurve(mXs, mYs);
+    }
+
+    @Benchmark
+    public float[] parametricTable() {
+        return BezierTables.buildBezierPointArray(mCurve);
+    }
+
+    /**
+     * 写入预先分配的数组，不产生内存分配
+     */
+    @Benchmark
+    public float[] parametricTableReused() {
+        BezierTables.buildBezierPointArray(mCurve, mPoints);
+        return mPoints;
+    }
+
+    @Benchmark
+    public float[] uniformTable() {
+        return BezierTables.buildUniformTable(mCurve, BezierLookups.DEFAULT_UNIFORM_TABLE_SIZE);
+    }
+
+    @Benchmark
+    public float[] adaptiveTable() {
+        return BezierTables.buildAdaptiveBezierPointArray(mXs, mYs,
+                BezierLookups.DEFAULT_TOLERANCE, BezierTables.FLATNESS_VERTICAL);
+    }
+
+    /**
+     * 不经过缓存创建默认查找策略的完整耗时，即插值器缓存未命中时的代价
+     */
+    @Benchmark
+    public BezierLookup lookup() {
+        return BezierLookups.create(mXs, mYs, BezierLookups.LOOKUP_PARAMETRIC, 0, 0);
+    }
+}
@@ -0,0 +1,73 @@
+package com.bruce.bezier.benchmark;
+
+import com.bruce.bezier.core.BezierLookup;
+import com.bruce.bezier.core.BezierLookups;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 逐帧递增的输入下查找游标的收益
+ * frames为一次动画的帧数，18帧约为60fps下300ms的动画，每帧的输入步长为1/frames
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CursorBenchmark {
+
+    @Param({"parametric", "adaptive"})
+    public String lookup;
+
+    @Param({"none", "cursor", "shared"})
+    public String hint;
+
+    @Param({"18", "300"})
+    public int frames;
+
+    private BezierLookup mLookup;
+    private int mFrame;
+
+    @Setup
+    public void setup() {
+        BezierLookup table = BezierLookups.create(Curves.EASE_XS, Curves.EASE_YS, LookupBenchmark.lookupMode(lookup),
+                BezierLookups.DEFAULT_UNIFORM_TABLE_SIZE, BezierLookups.DEFAULT_TOLERANCE);
+        int searchHint;
+        switch (hint) {
+            case "cursor":
+                searchHint = BezierLookups.SEARCH_HINT_CURSOR;
+                break;
+            case "shared":
+                searchHint = BezierLookups.SEARCH_HINT_SHARED_CURSOR;
+                break;
+            default:
+                searchHint = BezierLookups.SEARCH_HINT_NONE;
+                break;
+        }
+        mLookup = BezierLookups.withSearchHint(table, searchHint);
+    }
+
+    /**
+     * 一帧的查找，动画结束后从头开始
+     */
+    @Benchmark
+    public float frame() {
+        if (++mFrame >= frames) {
+            mFrame = 1;
+        }
+        return mLookup.getInterpolation((float) mFrame / frames);
+    }
+}
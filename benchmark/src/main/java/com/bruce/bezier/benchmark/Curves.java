@@ -0,0 +1,45 @@
+package com.bruce.bezier.benchmark;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * 基准测试使用的曲线
+ */
+final class Curves {
+
+    /**CSS ease曲线的控制点X坐标 */
+    static final float[] EASE_XS = {0, 0.25f, 0.25f, 1};
+    /**CSS ease曲线的控制点Y坐标 */
+    static final float[] EASE_YS = {0, 0.1f, 1f, 1};
+
+    /**过冲、回落、再次回弹后稳定的三段曲线的控制点X坐标 */
+    static final float[] BOUNCE_XS = {0, 0.2f, 0.3f, 0.4f, 0.5f, 0.6f, 0.7f, 0.8f, 0.9f, 1};
+    /**过冲、回落、再次回弹后稳定的三段曲线的控制点Y坐标 */
+    static final float[] BOUNCE_YS = {0, 0.6f, 1.3f, 1.15f, 1.1f, 0.9f, 0.95f, 1f, 1.05f, 1};
+
+    private Curves() {
+    }
+
+    /**
+     * 随机生成起点(0,0)、终点(1,1)的控制点，中间控制点X坐标递增，保证x(t)单调
+     * @param order 阶数
+     * @param seed 随机种子，相同种子得到相同曲线
+     * @return 控制点坐标，[0]为X坐标，[1]为Y坐标
+     */
+    static float[][] randomControlPoints(int order, long seed) {
+        Random random = new Random(seed);
+        float[] xs = new float[order + 1];
+        float[] ys = new float[order + 1];
+        for (int i = 1; i < order; i++) {
+            xs[i] = random.nextFloat();
+        }
+        xs[order] = 1;
+        Arrays.sort(xs);
+        for (int i = 1; i < order; i++) {
+            ys[i] = random.nextFloat() * 2 - 0.5f;
+        }
+        ys[order] = 1;
+        return new float[][]{xs, ys};
+    }
+}
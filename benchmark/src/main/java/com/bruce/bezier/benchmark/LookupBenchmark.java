@@ -0,0 +1,82 @@
+package com.bruce.bezier.benchmark;
+
+import com.bruce.bezier.core.BezierLookup;
+import com.bruce.bezier.core.BezierLookups;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 单次查找的吞吐量与延迟分布
+ * random为均匀随机输入；monotone为逐帧递增的输入，模拟动画过程
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LookupBenchmark {
+
+    /**输入个数，2的幂，用掩码循环取值 */
+    private static final int INPUT_COUNT = 1024;
+
+    @Param({"parametric", "uniform", "fixed16", "analytic", "adaptive"})
+    public String lookup;
+
+    @Param({"random", "monotone"})
+    public String access;
+
+    private BezierLookup mLookup;
+    private final float[] mInputs = new float[INPUT_COUNT];
+    private int mIndex;
+
+    @Setup
+    public void setup() {
+        mLookup = BezierLookups.create(Curves.EASE_XS, Curves.EASE_YS, lookupMode(lookup),
+                BezierLookups.DEFAULT_UNIFORM_TABLE_SIZE, BezierLookups.DEFAULT_TOLERANCE);
+
+        Random random = new Random(INPUT_COUNT);
+        for (int i = 0; i < INPUT_COUNT; i++) {
+            //查找策略的输入范围为(0,1)
+            mInputs[i] = Math.max(Float.MIN_VALUE, random.nextFloat());
+        }
+        if ("monotone".equals(access)) {
+            Arrays.sort(mInputs);
+        }
+    }
+
+    static int lookupMode(String lookup) {
+        switch (lookup) {
+            case "uniform":
+                return BezierLookups.LOOKUP_UNIFORM;
+            case "fixed16":
+                return BezierLookups.LOOKUP_UNIFORM_FIXED16;
+            case "analytic":
+                return BezierLookups.LOOKUP_ANALYTIC;
+            case "adaptive":
+                return BezierLookups.LOOKUP_ADAPTIVE;
+            default:
+                return BezierLookups.LOOKUP_PARAMETRIC;
+        }
+    }
+
+    @Benchmark
+    public float getInterpolation() {
+        mIndex = (mIndex + 1) & (INPUT_COUNT - 1);
+        return mLookup.getInterpolation(mInputs[mIndex]);
+    }
+}
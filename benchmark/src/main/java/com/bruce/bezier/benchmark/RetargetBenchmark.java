@@ -0,0 +1,64 @@
+package com.bruce.bezier.benchmark;
+
+import com.bruce.bezier.core.BezierLookup;
+import com.bruce.bezier.core.BezierLookups;
+import com.bruce.bezier.core.RetargetableLookup;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 动画中途改变目标：重新创建查找表与原地重定向的耗时和内存分配
+ * 每次调用换一个起点斜率，模拟快速手势
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RetargetBenchmark {
+
+    private static final int SLOPE_COUNT = 16;
+
+    private final float[] mXs = Curves.EASE_XS.clone();
+    private final float[] mYs = Curves.EASE_YS.clone();
+    private RetargetableLookup mLookup;
+    private int mIndex;
+
+    @Setup
+    public void setup() {
+        mLookup = new RetargetableLookup(mXs, mYs);
+    }
+
+    private float nextSlope() {
+        mIndex = (mIndex + 1) % SLOPE_COUNT;
+        return mIndex * 0.25f - 1;
+    }
+
+    /**
+     * 按新的控制点重新创建查找表，即每次改变方向都构造新插值器的代价
+     */
+    @Benchmark
+    public float rebuild() {
+        mYs[1] = mXs[1] * nextSlope();
+        BezierLookup lookup = BezierLookups.create(mXs, mYs, BezierLookups.LOOKUP_PARAMETRIC, 0, 0);
+        return lookup.getInterpolation(0.5f);
+    }
+
+    @Benchmark
+    public float retarget() {
+        mLookup.setInitialSlope(nextSlope());
+        return mLookup.getInterpolation(0.5f);
+    }
+}
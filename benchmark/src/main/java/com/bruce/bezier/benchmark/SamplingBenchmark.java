@@ -0,0 +1,62 @@
+package com.bruce.bezier.benchmark;
+
+import com.bruce.bezier.core.BezierCurve;
+import com.bruce.bezier.core.BezierTables;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 按t等分采样{@link BezierTables#UNIT_SAMPLE_COUNT}个点：逐点Horner求值与前向差分，阶数2~10
+ * 8阶以上重新锚定过于频繁，{@link BezierCurve#sample(int, float[])}退回逐点求值，两者应当持平
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SamplingBenchmark {
+
+    @Param({"2", "3", "4", "5", "6", "7", "8", "9", "10"})
+    public int order;
+
+    private BezierCurve mCurve;
+    private final float[] mPoints = new float[BezierTables.UNIT_SAMPLE_COUNT * 2];
+
+    @Setup
+    public void setup() {
+        float[][] points = Curves.randomControlPoints(order, order);
+        mCurve = new BezierCurve(points[0], points[1]);
+    }
+
+    /**
+     * 逐点求值，每个点每个方向order次乘加
+     */
+    @Benchmark
+    public float[] direct() {
+        for (int i = 0; i <= BezierTables.UNIT_EQUAL_PARTS; i++) {
+            double t = (double) i / BezierTables.UNIT_EQUAL_PARTS;
+            mPoints[i * 2] = (float) mCurve.getExactX(t);
+            mPoints[i * 2 + 1] = (float) mCurve.getExactY(t);
+        }
+        return mPoints;
+    }
+
+    @Benchmark
+    public float[] forwardDifference() {
+        mCurve.sample(BezierTables.UNIT_EQUAL_PARTS, mPoints);
+        return mPoints;
+    }
+}
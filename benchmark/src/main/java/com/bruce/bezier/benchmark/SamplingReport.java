@@ -0,0 +1,70 @@
+package com.bruce.bezier.benchmark;
+
+import com.bruce.bezier.core.BezierCurve;
+import com.bruce.bezier.core.BezierTables;
+
+import java.util.Locale;
+
+/**
+ * 前向差分采样相对于逐点直接求值的误差报告
+ * ./gradlew :benchmark:samplingReport
+ *
+ * 在每个阶数的随机曲线上按t等分{@link BezierTables#UNIT_EQUAL_PARTS}段采样，与double精度Horner求值后转为float的结果比较，
+ * 同时给出不重新锚定、从起点一直累加差分的误差，说明重新锚定的必要性。耗时见{@link SamplingBenchmark}
+ */
+public class SamplingReport {
+
+    /**每个阶数随机生成的曲线数 */
+    private static final int CURVES_PER_ORDER = 50;
+    private static final int MIN_ORDER = 2;
+    private static final int MAX_ORDER = 10;
+
+    public static void main(String[] args) {
+        final int segments = BezierTables.UNIT_EQUAL_PARTS;
+        System.out.println(String.format(Locale.US, "%-6s %14s %16s", "order", "max error", "no re-anchor"));
+        float[] points = new float[(segments + 1) * 2];
+        for (int order = MIN_ORDER; order <= MAX_ORDER; order++) {
+            double maxError = 0;
+            double unanchoredError = 0;
+            for (int i = 0; i < CURVES_PER_ORDER; i++) {
+                float[][] control = Curves.randomControlPoints(order, order * 1000 + i);
+                BezierCurve curve = new BezierCurve(control[0], control[1]);
+                curve.sample(segments, points);
+                for (int j = 0; j <= segments; j++) {
+                    double t = (double) j / segments;
+                    maxError = Math.max(maxError, Math.abs(points[j * 2] - (float) curve.getExactX(t)));
+                    maxError = Math.max(maxError, Math.abs(points[j * 2 + 1] - (float) curve.getExactY(t)));
+                }
+                unanchoredError = Math.max(unanchoredError, unanchoredError(control[0], segments));
+                unanchoredError = Math.max(unanchoredError, unanchoredError(control[1], segments));
+            }
+            System.out.println(String.format(Locale.US, "%-6d %14.3g %16.3g", order, maxError, unanchoredError));
+        }
+    }
+
+    /**
+     * 只在起点计算一次差分表，之后一直累加，返回与直接求值的最大误差
+     */
+    private static double unanchoredError(float[] control, int segments) {
+        int order = control.length - 1;
+        float[] zeros = new float[control.length];
+        BezierCurve curve = new BezierCurve(control, zeros);
+        double[] differences = new double[order + 1];
+        for (int k = 0; k <= order; k++) {
+            differences[k] = curve.getExactX((double) k / segments);
+        }
+        for (int k = 1; k <= order; k++) {
+            for (int j = order; j >= k; j--) {
+                differences[j] -= differences[j - 1];
+            }
+        }
+        double maxError = 0;
+        for (int i = 0; i <= segments; i++) {
+            maxError = Math.max(maxError, Math.abs((float) differences[0] - (float) curve.getExactX((double) i / segments)));
+            for (int k = 0; k < order; k++) {
+                differences[k] += differences[k + 1];
+            }
+        }
+        return maxError;
+    }
+}
@@ -0,0 +1,82 @@
+package com.bruce.bezier.benchmark;
+
+import com.bruce.bezier.core.BezierLookup;
+import com.bruce.bezier.core.BezierLookups;
+import com.bruce.bezier.core.BezierSpline;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 复杂曲线的单次查找：三段三阶曲线与单条三阶曲线、单条十阶曲线的对比
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SplineBenchmark {
+
+    private static final int INPUT_COUNT = 1024;
+
+    private BezierLookup mSpline;
+    private BezierLookup mCubic;
+    private BezierLookup mHighOrder;
+    private final float[] mInputs = new float[INPUT_COUNT];
+    private int mIndex;
+
+    @Setup
+    public void setup() {
+        mSpline = new BezierSpline(Curves.BOUNCE_XS, Curves.BOUNCE_YS, BezierSpline.CONTINUITY_C1);
+        mCubic = BezierLookups.create(Curves.EASE_XS, Curves.EASE_YS, BezierLookups.LOOKUP_ANALYTIC, 0, 0);
+        float[][] points = Curves.randomControlPoints(10, 10);
+        mHighOrder = BezierLookups.create(points[0], points[1], BezierLookups.LOOKUP_PARAMETRIC, 0, 0);
+        Random random = new Random(INPUT_COUNT);
+        for (int i = 0; i < INPUT_COUNT; i++) {
+            mInputs[i] = Math.max(Float.MIN_VALUE, random.nextFloat());
+        }
+    }
+
+    private float nextInput() {
+        mIndex = (mIndex + 1) & (INPUT_COUNT - 1);
+        return mInputs[mIndex];
+    }
+
+    @Benchmark
+    public float spline() {
+        return mSpline.getInterpolation(nextInput());
+    }
+
+    @Benchmark
+    public float cubic() {
+        return mCubic.getInterpolation(nextInput());
+    }
+
+    @Benchmark
+    public float highOrder() {
+        return mHighOrder.getInterpolation(nextInput());
+    }
+
+    @Benchmark
+    public BezierLookup buildSpline() {
+        return new BezierSpline(Curves.BOUNCE_XS, Curves.BOUNCE_YS, BezierSpline.CONTINUITY_C1);
+    }
+
+    @Benchmark
+    public BezierLookup buildHighOrder() {
+        float[][] points = Curves.randomControlPoints(10, 10);
+        return BezierLookups.create(points[0], points[1], BezierLookups.LOOKUP_PARAMETRIC, 0, 0);
+    }
+}
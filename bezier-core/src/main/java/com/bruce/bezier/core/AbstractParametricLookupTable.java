@@ -0,0 +1,173 @@
+package com.bruce.bezier.core;
+
+/**
+ * 按时间t采样的查找表的查找与插值
+ * 采样点在X方向不均匀，每次查找需要O(log n)的二分查找
+ * 点集的存储方式由子类决定：堆内数组见{@link ParametricLookupTable}，内存映射的表文件见{@link BufferParametricLookupTable}
+ */
+abstract class AbstractParametricLookupTable implements SizedLookup {
+
+    /**贝塞尔点个数 */
+    final int mPointCount;
+
+    /**
+     * @param pointCount 贝塞尔点个数
+     */
+    AbstractParametricLookupTable(int pointCount) {
+        mPointCount = pointCount;
+    }
+
+    /**
+     * @param index 点集下标，X、Y交错存放：{x0, y0, x1, y1, ...}
+     * @return 该下标上的坐标
+     */
+    abstract float get(int index);
+
+    @Override
+    public float getInterpolation(float t) {
+        return interpolate(t, binarySearch(t, 0, mPointCount - 1));
+    }
+
+    @Override
+    public void getInterpolation(float[] in, float[] out, int offset, int count) {
+        getInterpolation(in, out, offset, count, 0);
+    }
+
+    @Override
+    public void getInterpolationAndVelocity(float input, float[] out) {
+        int segment = binarySearch(input, 0, mPointCount - 1);
+        out[0] = interpolate(input, segment);
+        out[1] = velocity(input, segment);
+    }
+
+    /**
+     * 从指定区间开始批量查找
+     * @param hint 第一个输入的起始查找区间
+     * @return 最后一次查找到的区间
+     */
+    int getInterpolation(float[] in, float[] out, int offset, int count, int hint) {
+        int segment = hint;
+        for (int i = offset, end = offset + count; i < end; i++) {
+            float input = in[i];
+            if (input <= 0) {
+                out[i] = 0;
+            } else if (input >= 1) {
+                out[i] = 1;
+            } else {
+                segment = findSegment(input, segment);
+                out[i] = interpolate(input, segment);
+            }
+        }
+        return segment;
+    }
+
+    /**
+     * 从上一次查找到的区间开始查找：先比较该区间和相邻区间，都不命中时只在输入所在一侧二分
+     * 相邻输入落在同一个或相邻区间时只需比较一两次，最坏情况与二分查找相同
+     * @param t X坐标
+     * @param hint 上一次查找到的区间
+     * @return 区间下标i，满足x[i] <= t < x[i + 1]
+     */
+    int findSegment(float t, int hint) {
+        final int lastIndex = mPointCount - 1;
+        if (t >= get(hint * 2)) {
+            if (hint + 1 >= lastIndex || t < get((hint + 1) * 2)) {
+                return hint;
+            }
+            if (hint + 2 >= lastIndex || t < get((hint + 2) * 2)) {
+                return hint + 1;
+            }
+            return binarySearch(t, hint + 2, lastIndex);
+        }
+        if (hint == 0 || t >= get((hint - 1) * 2)) {
+            return Math.max(hint - 1, 0);
+        }
+        return binarySearch(t, 0, hint - 1);
+    }
+
+    /**
+     * 在[startIndex, endIndex]范围内二分查找t所在的区间
+     */
+    private int binarySearch(float t, int startIndex, int endIndex) {
+        while (endIndex - startIndex > 1) {
+            int midIndex = (startIndex + endIndex) >>> 1;
+            if (t < get(midIndex * 2)) {
+                endIndex = midIndex;
+            } else {
+                startIndex = midIndex;
+            }
+        }
+        return startIndex;
+    }
+
+    /**
+     * 在第segment个区间内线性插值
+     */
+    float interpolate(float t, int segment) {
+        int startIndex = segment * 2;
+        float startX = get(startIndex);
+        float startY = get(startIndex + 1);
+        float xRange = get(startIndex + 2) - startX;
+        if(xRange == 0) {
+            return startY;
+        }
+
+        float fraction = (t - startX) / xRange;
+        float endY = get(startIndex + 3);
+        return startY + (fraction * (endY - startY));
+    }
+
+    /**
+     * 第segment个区间内的斜率，两端采样点的斜率按比例线性插值
+     * 斜率由相邻的采样点计算，不需要额外的导数表
+     */
+    float velocity(float t, int segment) {
+        int startIndex = segment * 2;
+        float startX = get(startIndex);
+        float startSlope = knotSlope(segment);
+        float xRange = get(startIndex + 2) - startX;
+        if (xRange == 0) {
+            return startSlope;
+        }
+        float fraction = (t - startX) / xRange;
+        return startSlope + fraction * (knotSlope(segment + 1) - startSlope);
+    }
+
+    /**
+     * 第index个采样点处的斜率
+     */
+    private float knotSlope(int index) {
+        int i = index * 2;
+        float x = get(i);
+        float y = get(i + 1);
+        float leftWidth = 0, leftRise = 0, rightWidth = 0, rightRise = 0;
+        if (index > 0) {
+            leftWidth = x - get(i - 2);
+            leftRise = y - get(i - 1);
+        }
+        if (index < mPointCount - 1) {
+            rightWidth = get(i + 2) - x;
+            rightRise = get(i + 3) - y;
+        }
+        return knotSlope(leftWidth, leftRise, rightWidth, rightRise);
+    }
+
+    /**
+     * 采样点处的斜率：过相邻三点的抛物线在中间点的导数，即两侧弦的斜率按另一侧的宽度加权平均，
+     * 采样点不等间距时也是二阶精度。一侧宽度为0(首尾两点或折返处重合的点)时取另一侧弦的斜率
+     * @param leftWidth 左侧弦的X方向宽度
+     * @param leftRise 左侧弦的Y方向高度
+     * @param rightWidth 右侧弦的X方向宽度
+     * @param rightRise 右侧弦的Y方向高度
+     * @return 斜率
+     */
+    private static float knotSlope(float leftWidth, float leftRise, float rightWidth, float rightRise) {
+        if (leftWidth <= 0) {
+            return rightWidth > 0 ? rightRise / rightWidth : 0;
+        }
+        if (rightWidth <= 0) {
+            return leftRise / leftWidth;
+        }
+        return (leftRise / leftWidth * rightWidth + rightRise / rightWidth * leftWidth) / (leftWidth + rightWidth);
+    }
+}
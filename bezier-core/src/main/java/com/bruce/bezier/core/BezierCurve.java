@@ -0,0 +1,536 @@
+package com.bruce.bezier.core;
+
+import java.util.Arrays;
+
+/**
+ * 贝塞尔曲线多项式
+ * 构造时把控制点一次性转换为幂基系数，之后用Horner法则以O(n)计算曲线上任意t时间的点，
+ * 取代逐层递归的de Casteljau算法(O(2^n))。
+ * 内部使用double保存系数，10阶以内与递归算法的结果误差远小于float精度。
+ * 按t等分采样时，7阶以内用前向差分，每个点每个方向只需order次加法。
+ * 构造时由x'(t)的实根求出X坐标的折返点，判断x(t)是否单调。
+ * 构造后不可变，可以在任意线程间共享。
+ */
+public final class BezierCurve {
+
+    /**X方向幂基系数，下标即t的次数 */
+    private final double[] mCoefficientsX;
+    /**Y方向幂基系数，下标即t的次数 */
+    private final double[] mCoefficientsY;
+    /**前向差分重新锚定间隔的上限 */
+    private static final int MAX_ANCHOR_SHIFT = 10;
+    /**重新锚定间隔小于此值时，重建差分表的O(n^2)开销超过节省的乘法，改为逐点求值 */
+    private static final int MIN_ANCHOR_INTERVAL = 16;
+
+    /**X坐标回退不超过此值时仍视为单调，小于float在1附近的精度 */
+    private static final double MONOTONE_TOLERANCE = 1e-7;
+    /**求根时二分的次数 */
+    private static final int ROOT_ITERATIONS = 64;
+
+    /**终点坐标，t = 1时直接返回，不受多项式求值的舍入误差影响 */
+    private final float mEndX, mEndY;
+    /**X坐标的折返点：(0,1)内x'(t)变号的t，升序排列 */
+    private final double[] mTurningPoints;
+    /**x(t)在[0,1]上是否单调不减 */
+    private final boolean mMonotone;
+
+    /**
+     * @param xs 控制点X坐标
+     * @param ys 控制点Y坐标
+     */
+    public BezierCurve(float[] xs, float[] ys) {
+        if (xs == null || ys == null || xs.length != ys.length || xs.length < 2) {
+            throw new IllegalArgumentException("控制点X、Y坐标个数必须相同，且至少为2个");
+        }
+        mCoefficientsX = toPowerBasis(xs);
+        mCoefficientsY = toPowerBasis(ys);
+        mEndX = xs[xs.length - 1];
+        mEndY = ys[ys.length - 1];
+        mTurningPoints = isSorted(xs, xs.length) ? new double[0] : findTurningPoints(mCoefficientsX);
+        mMonotone = checkMonotone(mCoefficientsX, mCoefficientsX.length, mTurningPoints, 0, mTurningPoints.length);
+    }
+
+    /**
+     * 伯恩斯坦基转换为幂基
+     * a(k) = C(n, k) * Δ^k P(0)，Δ^k P(0)为控制点的k阶前向差分
+     * @param points 单个方向的控制点坐标
+     * @return 幂基系数
+     */
+    private static double[] toPowerBasis(float[] points) {
+        double[] coefficients = new double[points.length];
+        toPowerBasis(points, points.length, coefficients);
+        return coefficients;
+    }
+
+    /**
+     * 伯恩斯坦基转换为幂基，结果写入调用方提供的数组，不分配内存
+     * @param points 单个方向的控制点坐标
+     * @param count 控制点个数
+     * @param coefficients 幂基系数，长度不小于count
+     */
+    static void toPowerBasis(float[] points, int count, double[] coefficients) {
+        int order = count - 1;
+        for (int i = 0; i <= order; i++) {
+            coefficients[i] = points[i];
+        }
+        //原地计算差分表，第k轮结束后coefficients[k]为Δ^k P(0)
+        for (int k = 1; k <= order; k++) {
+            for (int i = order; i >= k; i--) {
+                coefficients[i] -= coefficients[i - 1];
+            }
+        }
+        double binomial = 1;
+        for (int k = 0; k <= order; k++) {
+            coefficients[k] *= binomial;
+            binomial = binomial * (order - k) / (k + 1);
+        }
+    }
+
+    /**
+     * Horner法则求多项式的值
+     * @param coefficients 幂基系数
+     * @param t 时间
+     * @return 多项式的值
+     */
+    private static double horner(double[] coefficients, double t) {
+        return horner(coefficients, coefficients.length, t);
+    }
+
+    /**
+     * Horner法则求多项式的值
+     * @param coefficients 幂基系数
+     * @param count 系数个数
+     * @param t 时间
+     * @return 多项式的值
+     */
+    static double horner(double[] coefficients, int count, double t) {
+        return horner(coefficients, 0, count, t);
+    }
+
+    /**
+     * Horner法则求多项式的值
+     * @param coefficients 幂基系数
+     * @param offset 第一个系数的下标
+     * @param count 系数个数
+     * @param t 时间
+     * @return 多项式的值
+     */
+    private static double horner(double[] coefficients, int offset, int count, double t) {
+        double result = coefficients[offset + count - 1];
+        for (int k = count - 2; k >= 0; k--) {
+            result = result * t + coefficients[offset + k];
+        }
+        return result;
+    }
+
+    /**
+     * 控制点单调不减时x'(t)的伯恩斯坦系数n(P[i + 1] - P[i])都不小于0，x'(t)不会变号，不需要求根
+     */
+    private static boolean isSorted(float[] points, int count) {
+        for (int i = 1; i < count; i++) {
+            if (points[i] < points[i - 1]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * x'(t)在(0,1)内变号的根，即x(t)的极值点
+     */
+    private static double[] findTurningPoints(double[] coefficients) {
+        int count = coefficients.length;
+        double[] work = new double[count * count];
+        System.arraycopy(coefficients, 0, work, 0, count);
+        return Arrays.copyOfRange(work, count, count + findTurningPoints(work, count));
+    }
+
+    /**
+     * x'(t)在(0,1)内变号的根，不分配内存
+     * @param work 缓冲，长度不小于count * count，[0, count)为X方向幂基系数，结果写入[count, count + 返回值)，
+     *             其后依次存放各阶导数与它们的根
+     * @param count 系数个数
+     * @return 折返点个数
+     */
+    private static int findTurningPoints(double[] work, int count) {
+        int derivativeOffset = count * 2 - 2;
+        for (int k = 0; k < count - 1; k++) {
+            work[derivativeOffset + k] = work[k + 1] * (k + 1);
+        }
+        return findRoots(work, derivativeOffset, count - 1, count);
+    }
+
+    /**
+     * 求多项式在(0,1)内变号的实根，偶数重根不变号，不计入
+     * 递归求出导数的变号根，把[0,1]分成多项式单调的若干段，每段两端异号时二分求根。
+     * 系数之后依次存放导数的根与导数的系数，下一层递归从导数的系数开始，
+     * 系数个数为count时从offset起占用count * (count - 1)个元素
+     * @param work 缓冲，[offset, offset + count)为幂基系数
+     * @param offset 第一个系数的下标
+     * @param count 系数个数
+     * @param rootsOffset 结果写入work的位置，最多count - 1个，升序排列，不能与offset之后的区域重叠
+     * @return 根的个数
+     */
+    private static int findRoots(double[] work, int offset, int count, int rootsOffset) {
+        if (count < 2) {
+            return 0;
+        }
+        if (count == 2) {
+            if (work[offset + 1] == 0) {
+                return 0;
+            }
+            double root = -work[offset] / work[offset + 1];
+            if (root > 0 && root < 1) {
+                work[rootsOffset] = root;
+                return 1;
+            }
+            return 0;
+        }
+        int criticalOffset = offset + count;
+        int derivativeOffset = criticalOffset + count - 2;
+        for (int k = 0; k < count - 1; k++) {
+            work[derivativeOffset + k] = work[offset + k + 1] * (k + 1);
+        }
+        int criticalCount = findRoots(work, derivativeOffset, count - 1, criticalOffset);
+        int rootCount = 0;
+        double low = 0;
+        double lowValue = work[offset];
+        for (int i = 0; i <= criticalCount; i++) {
+            double high = i < criticalCount ? work[criticalOffset + i] : 1;
+            double highValue = horner(work, offset, count, high);
+            if ((lowValue < 0 && highValue > 0) || (lowValue > 0 && highValue < 0)) {
+                work[rootsOffset + rootCount++] = bisect(work, offset, count, 0, low, high, lowValue < highValue);
+            }
+            low = high;
+            lowValue = highValue;
+        }
+        return rootCount;
+    }
+
+    /**
+     * 在多项式单调的区间[low, high]内二分求p(t) = value的解
+     * @param increasing 区间内是否递增
+     */
+    private static double bisect(double[] coefficients, int offset, int count, double value, double low, double high, boolean increasing) {
+        for (int i = 0; i < ROOT_ITERATIONS; i++) {
+            double mid = (low + high) * 0.5;
+            if (horner(coefficients, offset, count, mid) < value == increasing) {
+                low = mid;
+            } else {
+                high = mid;
+            }
+        }
+        return (low + high) * 0.5;
+    }
+
+    /**
+     * 每个折返点之间x(t)单调，任何一段回退超过{@link #MONOTONE_TOLERANCE}即不单调
+     * @param coefficients X方向幂基系数，从下标0开始
+     * @param count 系数个数
+     * @param turningPoints 折返点，从下标turningOffset开始，升序排列
+     * @param turningCount 折返点个数
+     */
+    private static boolean checkMonotone(double[] coefficients, int count, double[] turningPoints, int turningOffset, int turningCount) {
+        double low = 0;
+        for (int i = 0; i <= turningCount; i++) {
+            double high = i < turningCount ? turningPoints[turningOffset + i] : 1;
+            if (horner(coefficients, count, high) < horner(coefficients, count, low) - MONOTONE_TOLERANCE) {
+                return false;
+            }
+            low = high;
+        }
+        return true;
+    }
+
+    /**
+     * 同{@link #isMonotone()}，缓冲由调用方提供，不创建曲线对象，不分配内存，用于拖动控制点时每帧判断
+     * @param xs 控制点X坐标
+     * @param count 控制点个数，至少为2
+     * @param work 缓冲，长度不小于count * count
+     * @return x(t)在[0,1]上是否单调不减
+     */
+    public static boolean isMonotone(float[] xs, int count, double[] work) {
+        if (isSorted(xs, count)) {
+            return true;
+        }
+        toPowerBasis(xs, count, work);
+        return checkMonotone(work, count, work, count, findTurningPoints(work, count));
+    }
+
+    /**
+     * 把X方向控制点替换为最接近的单调不减序列，用于X坐标不单调的曲线
+     * 中间控制点按最小二乘做保序回归(相邻违序的点合并取平均)，再限制在起点与终点之间。
+     * 控制点单调不减时x'(t)的伯恩斯坦系数都不小于0，曲线一定单调
+     * @param xs 控制点X坐标，起点不大于终点
+     * @return 新的控制点X坐标，起点和终点不变
+     */
+    public static float[] toMonotoneHull(float[] xs) {
+        float[] result = new float[xs.length];
+        toMonotoneHull(xs, xs.length, result, new double[xs.length], new int[xs.length]);
+        return result;
+    }
+
+    /**
+     * 同{@link #toMonotoneHull(float[])}，结果与缓冲都由调用方提供，不分配内存，用于拖动控制点时每帧计算
+     * @param xs 控制点X坐标，起点不大于终点
+     * @param count 控制点个数
+     * @param result 新的控制点X坐标，长度不小于count，可以与xs为同一个数组
+     * @param sums 缓冲，长度不小于count
+     * @param sizes 缓冲，长度不小于count
+     */
+    public static void toMonotoneHull(float[] xs, int count, float[] result, double[] sums, int[] sizes) {
+        int last = count - 1;
+        if (result != xs) {
+            System.arraycopy(xs, 0, result, 0, count);
+        }
+        if (last < 2) {
+            return;
+        }
+        int blockCount = 0;
+        for (int i = 1; i < last; i++) {
+            sums[blockCount] = xs[i];
+            sizes[blockCount] = 1;
+            blockCount++;
+            //后一块的平均值小于前一块时合并
+            while (blockCount > 1 && sums[blockCount - 1] * sizes[blockCount - 2] < sums[blockCount - 2] * sizes[blockCount - 1]) {
+                sums[blockCount - 2] += sums[blockCount - 1];
+                sizes[blockCount - 2] += sizes[blockCount - 1];
+                blockCount--;
+            }
+        }
+        int index = 1;
+        for (int block = 0; block < blockCount; block++) {
+            float value = (float) Math.max(xs[0], Math.min(xs[last], sums[block] / sizes[block]));
+            for (int i = 0; i < sizes[block]; i++) {
+                result[index++] = value;
+            }
+        }
+    }
+
+    /**
+     * 前向差分重新锚定的间隔，即每隔多少个点用Horner法则重新计算一次差分表
+     * 差分逐点累加，舍入误差随间隔大约按阶数次方增长。间隔取2^(28 / order)，上限1024，
+     * 在2~10阶的随机曲线上与直接求值的差距不超过2个float ulp
+     * @param order 多项式阶数
+     * @return 重新锚定间隔，为2的幂
+     */
+    static int getAnchorInterval(int order) {
+        return 1 << Math.min(MAX_ANCHOR_SHIFT, 28 / Math.max(order, 1));
+    }
+
+    /**
+     * 按t等分采样，结果以X、Y交错的方式写入points，共segments + 1个点
+     * 步长固定时n阶多项式的n阶差分为常数，从差分表Δ^k p(t)出发，
+     * 每前进一步只需把每一阶差分加上高一阶差分，共n次加法，不需要乘法。
+     * 每隔{@link #getAnchorInterval(int)}个点在当前t处用Horner法则重建差分表，限制累积误差。
+     * 8阶以上间隔过短，直接逐点求值
+     * @param coefficientsX X方向幂基系数
+     * @param coefficientsY Y方向幂基系数
+     * @param count 系数个数
+     * @param segments 采样段数
+     * @param differences 差分表缓冲，长度不小于count
+     * @param points X、Y交错存放的结果数组
+     */
+    static void sample(double[] coefficientsX, double[] coefficientsY, int count, int segments, double[] differences, float[] points) {
+        if (getAnchorInterval(count - 1) < MIN_ANCHOR_INTERVAL) {
+            for (int i = 0; i <= segments; i++) {
+                double t = (double) i / segments;
+                points[i * 2] = (float) horner(coefficientsX, count, t);
+                points[i * 2 + 1] = (float) horner(coefficientsY, count, t);
+            }
+            return;
+        }
+        forwardDifference(coefficientsX, count, segments, differences, points, 0);
+        forwardDifference(coefficientsY, count, segments, differences, points, 1);
+    }
+
+    /**
+     * 只重新采样单个方向的坐标，另一方向保持不变，结果与{@link #sample(double[], double[], int, int, double[], float[])}相同
+     * 用于只有Y方向控制点改变的曲线
+     * @param coefficients 幂基系数
+     * @param count 系数个数
+     * @param segments 采样段数
+     * @param differences 差分表缓冲，长度不小于count
+     * @param points X、Y交错存放的结果数组
+     * @param offset 0为X坐标，1为Y坐标
+     */
+    static void sample(double[] coefficients, int count, int segments, double[] differences, float[] points, int offset) {
+        if (getAnchorInterval(count - 1) < MIN_ANCHOR_INTERVAL) {
+            for (int i = 0; i <= segments; i++) {
+                points[i * 2 + offset] = (float) horner(coefficients, count, (double) i / segments);
+            }
+            return;
+        }
+        forwardDifference(coefficients, count, segments, differences, points, offset);
+    }
+
+    /**
+     * 用前向差分按t等分采样单个方向的坐标，写入points[i * 2 + offset]，i = 0 ~ segments
+     */
+    private static void forwardDifference(double[] coefficients, int count, int segments, double[] differences, float[] points, int offset) {
+        int order = count - 1;
+        int mask = getAnchorInterval(order) - 1;
+        for (int i = 0; i <= segments; i++) {
+            if ((i & mask) == 0) {
+                //以整数下标计算t，重新锚定的点与直接求值完全一致
+                for (int k = 0; k <= order; k++) {
+                    differences[k] = horner(coefficients, count, (double) (i + k) / segments);
+                }
+                for (int k = 1; k <= order; k++) {
+                    for (int j = order; j >= k; j--) {
+                        differences[j] -= differences[j - 1];
+                    }
+                }
+            }
+            points[i * 2 + offset] = (float) differences[0];
+            for (int k = 0; k < order; k++) {
+                differences[k] += differences[k + 1];
+            }
+        }
+    }
+
+    /**
+     * 按t等分采样，结果以X、Y交错的方式写入points：{x0, y0, x1, y1, ...}
+     * 7阶以内使用前向差分，与逐点调用{@link #getExactX(double)}的结果相差不超过float精度，
+     * 起点和终点与控制点完全相同
+     * @param segments 采样段数，至少为1
+     * @param points 长度不小于(segments + 1) * 2的数组
+     */
+    public void sample(int segments, float[] points) {
+        if (segments < 1 || points.length < (segments + 1) * 2) {
+            throw new IllegalArgumentException("采样段数至少为1，点集数组长度至少为" + (segments + 1) * 2);
+        }
+        sample(mCoefficientsX, mCoefficientsY, mCoefficientsX.length, segments, new double[mCoefficientsX.length], points);
+        points[0] = (float) mCoefficientsX[0];
+        points[1] = (float) mCoefficientsY[0];
+        points[segments * 2] = mEndX;
+        points[segments * 2 + 1] = mEndY;
+    }
+
+    /**
+     * @return 曲线阶数
+     */
+    public int getOrder() {
+        return mCoefficientsX.length - 1;
+    }
+
+    /**
+     * 曲线在t时间上点的X坐标，t为0和1时与起点、终点完全相同
+     * @param t 时间
+     * @return X坐标
+     */
+    public float getX(float t) {
+        return t == 1 ? mEndX : (float) horner(mCoefficientsX, t);
+    }
+
+    /**
+     * 曲线在t时间上点的Y坐标，t为0和1时与起点、终点完全相同
+     * @param t 时间
+     * @return Y坐标
+     */
+    public float getY(float t) {
+        return t == 1 ? mEndY : (float) horner(mCoefficientsY, t);
+    }
+
+    /**
+     * 以double精度计算曲线在t时间上点的X坐标
+     * @param t 时间
+     * @return X坐标
+     */
+    public double getExactX(double t) {
+        return horner(mCoefficientsX, t);
+    }
+
+    /**
+     * 以double精度计算曲线在t时间上点的Y坐标
+     * @param t 时间
+     * @return Y坐标
+     */
+    public double getExactY(double t) {
+        return horner(mCoefficientsY, t);
+    }
+
+    /**
+     * 以double精度计算曲线在t时间上的斜率dy/dx
+     * @param t 时间
+     * @return 斜率，x'(t)为0时为无穷大
+     */
+    public double getExactSlope(double t) {
+        return derivative(mCoefficientsY, t) / derivative(mCoefficientsX, t);
+    }
+
+    /**
+     * Horner法则求多项式导数的值
+     */
+    private static double derivative(double[] coefficients, double t) {
+        int order = coefficients.length - 1;
+        if (order == 0) {
+            return 0;
+        }
+        double result = coefficients[order] * order;
+        for (int k = order - 1; k >= 1; k--) {
+            result = result * t + coefficients[k] * k;
+        }
+        return result;
+    }
+
+    /**
+     * @return x(t)在[0,1]上是否单调不减，单调时X坐标与t一一对应
+     */
+    public boolean isMonotone() {
+        return mMonotone;
+    }
+
+    /**
+     * @return X坐标的折返点，即(0,1)内x'(t)变号的t，升序排列
+     */
+    public double[] getTurningPoints() {
+        return mTurningPoints.clone();
+    }
+
+    /**
+     * 求X坐标为x时的时间t，X坐标不单调时取t最小的解
+     * @param x X坐标
+     * @return 时间t，x超出曲线范围时返回0或1
+     */
+    public double solveT(double x) {
+        return solveT(x, false);
+    }
+
+    /**
+     * 求X坐标为x时的时间t
+     * 在折返点分成的每一段上x(t)单调，按顺序找到包含x的第一段后二分求解。
+     * 单调的曲线只有一段，两种取法结果相同
+     * @param x X坐标
+     * @param last 有多个解时，true取t最大的解，false取t最小的解
+     * @return 时间t，x超出曲线范围时返回X坐标最接近的段端点
+     */
+    public double solveT(double x, boolean last) {
+        int pieceCount = mTurningPoints.length + 1;
+        double nearest = last ? 1 : 0;
+        double nearestDistance = Double.MAX_VALUE;
+        for (int i = 0; i < pieceCount; i++) {
+            int piece = last ? pieceCount - 1 - i : i;
+            double low = piece == 0 ? 0 : mTurningPoints[piece - 1];
+            double high = piece == pieceCount - 1 ? 1 : mTurningPoints[piece];
+            double lowX = horner(mCoefficientsX, low);
+            double highX = horner(mCoefficientsX, high);
+            //先比较取解一侧的端点，与原来单调曲线的结果一致
+            if (x == (last ? highX : lowX)) {
+                return last ? high : low;
+            }
+            if (x == (last ? lowX : highX)) {
+                return last ? low : high;
+            }
+            if (x > Math.min(lowX, highX) && x < Math.max(lowX, highX)) {
+                return bisect(mCoefficientsX, 0, mCoefficientsX.length, x, low, high, lowX < highX);
+            }
+            double distance = Math.min(Math.abs(x - lowX), Math.abs(x - highX));
+            if (distance < nearestDistance) {
+                nearestDistance = distance;
+                nearest = Math.abs(x - lowX) < Math.abs(x - highX) ? low : high;
+            }
+        }
+        return nearest;
+    }
+}
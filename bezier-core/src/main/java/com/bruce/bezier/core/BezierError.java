@@ -0,0 +1,87 @@
+package com.bruce.bezier.core;
+
+/**
+ * 查找策略相对于精确曲线的误差
+ * 精确值为double精度下二分求解x(t) = input再计算y(t)，求解误差远小于float的精度
+ * 曲线的X坐标不单调时同一个X坐标对应多个t，需指定与查找表相同的一支
+ */
+public final class BezierError {
+
+    /**默认在(0,1)上的等分数 */
+    public static final int DEFAULT_PROBE_COUNT = 4096;
+
+    private final float mMaxError;
+    private final float mRmsError;
+    private final float mMaxErrorInput;
+
+    private BezierError(float maxError, float rmsError, float maxErrorInput) {
+        mMaxError = maxError;
+        mRmsError = rmsError;
+        mMaxErrorInput = maxErrorInput;
+    }
+
+    /**
+     * 在(0,1)上等分取点测量误差，不含端点
+     * @param curve 曲线多项式，X坐标不单调时与t最小的解比较
+     * @param lookup 查找策略
+     * @param probeCount 等分数，取probeCount - 1个点
+     * @return 误差
+     */
+    public static BezierError measure(BezierCurve curve, BezierLookup lookup, int probeCount) {
+        return measure(curve, lookup, probeCount, false);
+    }
+
+    /**
+     * 在(0,1)上等分取点测量误差，不含端点
+     * @param curve 曲线多项式
+     * @param lookup 查找策略
+     * @param probeCount 等分数，取probeCount - 1个点
+     * @param last X坐标不单调时，true与t最大的解比较，false与t最小的解比较
+     * @return 误差
+     */
+    public static BezierError measure(BezierCurve curve, BezierLookup lookup, int probeCount, boolean last) {
+        if (probeCount < 2) {
+            throw new IllegalArgumentException("等分数至少为2");
+        }
+        double maxError = 0;
+        double sumSquares = 0;
+        float maxErrorInput = 0;
+        for (int i = 1; i < probeCount; i++) {
+            float input = (float) i / probeCount;
+            double exact = curve.getExactY(curve.solveT(input, last));
+            double error = Math.abs(lookup.getInterpolation(input) - exact);
+            sumSquares += error * error;
+            if (error > maxError) {
+                maxError = error;
+                maxErrorInput = input;
+            }
+        }
+        return new BezierError((float) maxError, (float) Math.sqrt(sumSquares / (probeCount - 1)), maxErrorInput);
+    }
+
+    /**
+     * @return 最大绝对误差
+     */
+    public float getMaxError() {
+        return mMaxError;
+    }
+
+    /**
+     * @return 均方根误差
+     */
+    public float getRmsError() {
+        return mRmsError;
+    }
+
+    /**
+     * @return 最大误差出现的X坐标
+     */
+    public float getMaxErrorInput() {
+        return mMaxErrorInput;
+    }
+
+    @Override
+    public String toString() {
+        return "max=" + mMaxError + " rms=" + mRmsError + " at x=" + mMaxErrorInput;
+    }
+}
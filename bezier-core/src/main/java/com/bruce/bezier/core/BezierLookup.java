@@ -0,0 +1,32 @@
+package com.bruce.bezier.core;
+
+/**
+ * 贝塞尔插值器的查找策略
+ * 调用方负责把输入限定在(0,1)内，0和1直接对应起点和终点
+ */
+public interface BezierLookup {
+
+    /**
+     * @param input X坐标，范围(0,1)
+     * @return 曲线在该X坐标上的Y坐标
+     */
+    float getInterpolation(float input);
+
+    /**
+     * 批量查找，结果与逐个调用{@link #getInterpolation(float)}相同
+     * 输入不需要限定范围，小于等于0的输入结果为0，大于等于1的输入结果为1
+     * 输入按升序或接近升序排列时，查找表从上一个结果所在的区间继续查找，不必每次从头二分
+     * @param in X坐标
+     * @param out Y坐标，可以与in为同一个数组
+     * @param offset 起始下标，in与out相同
+     * @param count 个数
+     */
+    void getInterpolation(float[] in, float[] out, int offset, int count);
+
+    /**
+     * 同时计算Y坐标与斜率dy/dx，只查找一次，Y坐标与{@link #getInterpolation(float)}相同
+     * @param input X坐标，范围[0,1]
+     * @param out 长度至少为2，out[0]为Y坐标，out[1]为斜率
+     */
+    void getInterpolationAndVelocity(float input, float[] out);
+}
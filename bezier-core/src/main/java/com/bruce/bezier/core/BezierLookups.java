@@ -0,0 +1,144 @@
+package com.bruce.bezier.core;
+
+/**
+ * 查找策略的创建方法
+ * 控制点起点为(0,0)、终点为(1,1)，创建的查找策略不可变，可以在任意线程间共享
+ */
+public final class BezierLookups {
+
+    /**按时间t等分采样，二分查找 */
+    public static final int LOOKUP_PARAMETRIC = 0;
+    /**按X坐标等分重采样，O(1)查找 */
+    public static final int LOOKUP_UNIFORM = 1;
+    /**三阶曲线解析求解，牛顿迭代加二分法，不需要查找表 */
+    public static final int LOOKUP_ANALYTIC = 2;
+    /**按误差自适应细分采样，二分查找，平缓的曲线点数远少于按t等分 */
+    public static final int LOOKUP_ADAPTIVE = 3;
+    /**与{@link #LOOKUP_UNIFORM}相同，Y坐标以16位定点数存储，内存减半 */
+    public static final int LOOKUP_UNIFORM_FIXED16 = 4;
+
+    /**每次查找都从整张表二分 */
+    public static final int SEARCH_HINT_NONE = 0;
+    /**记住上一次查找到的区间，只能在一个线程中使用 */
+    public static final int SEARCH_HINT_CURSOR = 1;
+    /**每个线程各自记住上一次查找到的区间，可以在多个线程间共享 */
+    public static final int SEARCH_HINT_SHARED_CURSOR = 2;
+
+    /**X坐标不单调时抛出IllegalArgumentException */
+    public static final int MONOTONE_REJECT = 0;
+    /**X坐标不单调时把X方向控制点替换为最接近的单调序列，曲线形状略有改变，插值结果连续 */
+    public static final int MONOTONE_CLAMP = 1;
+    /**X坐标不单调时取t最小的解，曲线折返处插值结果跳变 */
+    public static final int MONOTONE_FIRST = 2;
+    /**X坐标不单调时取t最大的解，曲线折返处插值结果跳变 */
+    public static final int MONOTONE_LAST = 3;
+    /**默认的单调性处理方式 */
+    public static final int DEFAULT_MONOTONE_POLICY = MONOTONE_CLAMP;
+
+    /**X方向等分查找表的默认长度 */
+    public static final int DEFAULT_UNIFORM_TABLE_SIZE = 257;
+    /**自适应细分的默认最大误差 */
+    public static final float DEFAULT_TOLERANCE = 0.0001f;
+
+    private BezierLookups() {
+
+    }
+
+    /**
+     * 创建查找策略，X坐标不单调时按{@link #DEFAULT_MONOTONE_POLICY}处理
+     * @param xs 控制点X坐标
+     * @param ys 控制点Y坐标
+     * @param lookupMode 查找方式
+     * @param tableSize X方向等分查找表的长度，仅对{@link #LOOKUP_UNIFORM}和{@link #LOOKUP_UNIFORM_FIXED16}有效
+     * @param tolerance 自适应细分的最大误差，仅对{@link #LOOKUP_ADAPTIVE}有效
+     * @return 查找策略
+     */
+    public static BezierLookup create(float[] xs, float[] ys, int lookupMode, int tableSize, float tolerance) {
+        return create(xs, ys, lookupMode, tableSize, tolerance, DEFAULT_MONOTONE_POLICY);
+    }
+
+    /**
+     * 创建查找策略
+     * 构造时由x'(t)的根判断X坐标是否单调，不单调时按处理方式调整，创建的查找表X坐标一定递增
+     * @param xs 控制点X坐标
+     * @param ys 控制点Y坐标
+     * @param lookupMode 查找方式
+     * @param tableSize X方向等分查找表的长度，仅对{@link #LOOKUP_UNIFORM}和{@link #LOOKUP_UNIFORM_FIXED16}有效
+     * @param tolerance 自适应细分的最大误差，仅对{@link #LOOKUP_ADAPTIVE}有效
+     * @param monotonePolicy {@link #MONOTONE_REJECT}、{@link #MONOTONE_CLAMP}、{@link #MONOTONE_FIRST} 或 {@link #MONOTONE_LAST}，
+     *                       后两者不支持{@link #LOOKUP_ANALYTIC}
+     * @return 查找策略
+     */
+    public static BezierLookup create(float[] xs, float[] ys, int lookupMode, int tableSize, float tolerance, int monotonePolicy) {
+        if (lookupMode == LOOKUP_ANALYTIC && xs.length != 4) {
+            throw new IllegalArgumentException("解析求解只支持三阶曲线，控制点个数必须为4");
+        }
+        MonotoneCurve curve = MonotoneCurve.of(xs, ys, lookupMode, monotonePolicy);
+        switch (lookupMode) {
+            case LOOKUP_PARAMETRIC:
+                return new ParametricLookupTable(curve.buildParametricTable());
+            case LOOKUP_UNIFORM:
+                return new UniformLookupTable(curve.buildUniformTable(tableSize));
+            case LOOKUP_UNIFORM_FIXED16:
+                return new QuantizedLookupTable(curve.buildUniformTable(tableSize));
+            case LOOKUP_ADAPTIVE:
+                return new ParametricLookupTable(curve.buildAdaptiveTable(tolerance));
+            case LOOKUP_ANALYTIC:
+                return new CubicBezierSolver(curve.mXs[1], ys[1], curve.mXs[2], ys[2]);
+            default:
+                throw new IllegalArgumentException("未知的查找方式：" + lookupMode);
+        }
+    }
+
+    /**
+     * 测量查找策略相对于精确曲线的最大误差，精确曲线与创建查找策略时一样按单调性处理方式调整
+     * @param xs 控制点X坐标
+     * @param ys 控制点Y坐标
+     * @param monotonePolicy 创建查找策略时的单调性处理方式
+     * @param lookup 查找策略
+     * @return 最大绝对误差
+     */
+    public static float measureMaxError(float[] xs, float[] ys, int monotonePolicy, BezierLookup lookup) {
+        MonotoneCurve curve = MonotoneCurve.of(xs, ys, LOOKUP_PARAMETRIC, monotonePolicy);
+        return BezierError.measure(curve.mCurve, lookup, BezierError.DEFAULT_PROBE_COUNT, curve.mLast).getMaxError();
+    }
+
+    /**
+     * 为查找策略加上查找游标，适合输入随帧单调递增的动画
+     * 只有按时间t采样的查找表需要二分查找，其他查找策略原样返回
+     * 游标是可变状态，返回值不能放入缓存，每个插值器各自创建
+     * @param lookup {@link #create(float[], float[], int, int, float)}或{@link BezierTableFile}创建的查找策略
+     * @param searchHint {@link #SEARCH_HINT_NONE}、{@link #SEARCH_HINT_CURSOR} 或 {@link #SEARCH_HINT_SHARED_CURSOR}
+     * @return 查找策略
+     */
+    public static BezierLookup withSearchHint(BezierLookup lookup, int searchHint) {
+        switch (searchHint) {
+            case SEARCH_HINT_NONE:
+                return lookup;
+            case SEARCH_HINT_CURSOR:
+                if (lookup instanceof AbstractParametricLookupTable) {
+                    return new CursorLookup((AbstractParametricLookupTable) lookup);
+                }
+                return lookup;
+            case SEARCH_HINT_SHARED_CURSOR:
+                if (lookup instanceof AbstractParametricLookupTable) {
+                    return new SharedCursorLookup((AbstractParametricLookupTable) lookup);
+                }
+                return lookup;
+            default:
+                throw new IllegalArgumentException("未知的查找游标方式：" + searchHint);
+        }
+    }
+
+    /**
+     * 估算查找策略中查找表占用的堆内存，不含对象头；内存映射的查找表不占用堆内存，为0
+     * @param lookup 查找策略，不是本包创建的查找策略为0
+     * @return 字节数
+     */
+    public static int getTableBytes(BezierLookup lookup) {
+        if (lookup instanceof SizedLookup) {
+            return ((SizedLookup) lookup).getTableBytes();
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,118 @@
+package com.bruce.bezier.core;
+
+/**
+ * 可复用的贝塞尔曲线采样器
+ * 所有缓冲在构造时分配，之后反复采样不产生任何垃圾，适合在拖动控制点时每帧重新计算曲线。
+ * 采样数由Wang公式根据允许误差确定，相邻两点连线与曲线的距离保证不超过误差。
+ * 采样使用前向差分，每个点只需加法。
+ * 不是线程安全的，只能由一个线程使用。
+ */
+public class BezierSampler {
+
+    /**最多支持的控制点个数 */
+    private final int mMaxControlPoints;
+    /**最多采样段数 */
+    private final int mMaxSegments;
+
+    private final float[] mControlXs;
+    private final float[] mControlYs;
+    private final double[] mCoefficientsX;
+    private final double[] mCoefficientsY;
+    /**前向差分表 */
+    private final double[] mDifferences;
+
+    /**采样结果，X、Y交错存放：{x0, y0, x1, y1, ...} */
+    private final float[] mPoints;
+    /**采样点个数 */
+    private int mPointCount;
+
+    /**
+     * @param maxControlPoints 最多支持的控制点个数
+     * @param maxSegments 最多采样段数，误差要求更高时以此为上限
+     */
+    public BezierSampler(int maxControlPoints, int maxSegments) {
+        if (maxControlPoints < 2 || maxSegments < 1) {
+            throw new IllegalArgumentException("控制点个数至少为2，采样段数至少为1");
+        }
+        mMaxControlPoints = maxControlPoints;
+        mMaxSegments = maxSegments;
+        mControlXs = new float[maxControlPoints];
+        mControlYs = new float[maxControlPoints];
+        mCoefficientsX = new double[maxControlPoints];
+        mCoefficientsY = new double[maxControlPoints];
+        mDifferences = new double[maxControlPoints];
+        mPoints = new float[(maxSegments + 1) * 2];
+    }
+
+    /**
+     * 对控制点确定的曲线重新采样
+     * @param xs 控制点X坐标
+     * @param ys 控制点Y坐标
+     * @param count 控制点个数
+     * @param tolerance 允许的最大误差
+     * @return 采样点个数
+     */
+    public int sample(float[] xs, float[] ys, int count, float tolerance) {
+        if (count < 2 || count > mMaxControlPoints) {
+            throw new IllegalArgumentException("控制点个数必须在2到" + mMaxControlPoints + "之间");
+        }
+        System.arraycopy(xs, 0, mControlXs, 0, count);
+        System.arraycopy(ys, 0, mControlYs, 0, count);
+        return sample(count, getSegmentCount(count, tolerance));
+    }
+
+    /**
+     * Wang公式：按t等分n段时，折线与曲线的距离不超过 order * (order - 1) * M / (8 * n^2)，
+     * M为控制点二阶差分长度的最大值
+     * @param count 控制点个数
+     * @param tolerance 允许的最大误差
+     * @return 采样段数
+     */
+    private int getSegmentCount(int count, float tolerance) {
+        int order = count - 1;
+        if (order < 2) {
+            return 1;
+        }
+        double maxSquared = 0;
+        for (int i = 0; i + 2 < count; i++) {
+            double dx = mControlXs[i] - 2.0 * mControlXs[i + 1] + mControlXs[i + 2];
+            double dy = mControlYs[i] - 2.0 * mControlYs[i + 1] + mControlYs[i + 2];
+            maxSquared = Math.max(maxSquared, dx * dx + dy * dy);
+        }
+        double segments = Math.ceil(Math.sqrt(order * (order - 1) * Math.sqrt(maxSquared) / (8.0 * tolerance)));
+        return (int) Math.max(1, Math.min(mMaxSegments, segments));
+    }
+
+    /**
+     * 按t等分采样，前向差分见{@link BezierCurve#sample(int, float[])}
+     * @param count 控制点个数
+     * @param segments 采样段数
+     * @return 采样点个数
+     */
+    private int sample(int count, int segments) {
+        BezierCurve.toPowerBasis(mControlXs, count, mCoefficientsX);
+        BezierCurve.toPowerBasis(mControlYs, count, mCoefficientsY);
+        BezierCurve.sample(mCoefficientsX, mCoefficientsY, count, segments, mDifferences, mPoints);
+        //起点和终点直接取控制点，不受计算误差影响
+        mPoints[0] = mControlXs[0];
+        mPoints[1] = mControlYs[0];
+        mPoints[segments * 2] = mControlXs[count - 1];
+        mPoints[segments * 2 + 1] = mControlYs[count - 1];
+        mPointCount = segments + 1;
+        return mPointCount;
+    }
+
+    /**
+     * @return 采样结果，X、Y交错存放，有效长度为{@link #getPointCount()} * 2，下次采样时会被覆盖
+     */
+    public float[] getPoints() {
+        return mPoints;
+    }
+
+    /**
+     * @return 采样点个数
+     */
+    public int getPointCount() {
+        return mPointCount;
+    }
+}
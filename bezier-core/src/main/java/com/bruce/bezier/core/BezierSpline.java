@@ -0,0 +1,206 @@
+package com.bruce.bezier.core;
+
+/**
+ * 分段三阶贝塞尔曲线
+ * 回弹、过冲后稳定等复杂曲线用多段三阶曲线首尾相连，而不是提高曲线阶数：
+ * 每段各自使用{@link CubicBezierSolver}解析求解，按X坐标等分的分段索引定位所在的段，
+ * 最窄的段不窄于1 / {@link #MAX_INDEX_CELLS}时每次最多向后移动一段，每帧的开销与单条三阶曲线相同，与段数无关
+ *
+ * 控制点依次为：起点、控制点、控制点、连接点、控制点、控制点、连接点...终点，共3n + 1个，n为段数
+ * 起点为(0,0)，终点为(1,1)，连接点的X坐标严格递增，每段的两个控制点X坐标在该段起点和终点之间，保证X坐标单调
+ */
+public final class BezierSpline implements SizedLookup {
+
+    /**按给定的控制点连接，连接点处只保证位置连续 */
+    public static final int CONTINUITY_C0 = 0;
+    /**连接点处斜率连续：保留连接点后一个控制点，调整前一个控制点的Y坐标使两者与连接点共线 */
+    public static final int CONTINUITY_C1 = 1;
+
+    /**分段索引中每段平均占用的最少格数 */
+    private static final int INDEX_CELLS_PER_SEGMENT = 4;
+    /**分段索引的最多格数，即最多4KB */
+    private static final int MAX_INDEX_CELLS = 1024;
+
+    /**段数 */
+    private final int mSegmentCount;
+    /**各段起点X坐标，最后一个元素为终点X坐标1 */
+    private final float[] mStartXs;
+    /**各段起点Y坐标 */
+    private final float[] mStartYs;
+    /**各段X方向长度的倒数 */
+    private final float[] mScaleXs;
+    /**各段的解析求解，X坐标归一化到[0,1]，Y坐标相对于该段起点 */
+    private final CubicBezierSolver[] mSolvers;
+    /**第i格为X坐标等于i / 格数时所在的段 */
+    private final int[] mSegmentIndex;
+
+    /**
+     * @param xs 控制点X坐标，3n + 1个
+     * @param ys 控制点Y坐标，3n + 1个
+     * @param continuity {@link #CONTINUITY_C0} 或 {@link #CONTINUITY_C1}
+     */
+    public BezierSpline(float[] xs, float[] ys, int continuity) {
+        checkControlPoints(xs, ys, continuity);
+        mSegmentCount = (xs.length - 1) / 3;
+        if (continuity == CONTINUITY_C1) {
+            ys = alignTangents(xs, ys);
+        }
+
+        mStartXs = new float[mSegmentCount + 1];
+        mStartYs = new float[mSegmentCount];
+        mScaleXs = new float[mSegmentCount];
+        mSolvers = new CubicBezierSolver[mSegmentCount];
+        for (int i = 0; i < mSegmentCount; i++) {
+            int start = i * 3;
+            float startX = xs[start];
+            float startY = ys[start];
+            float scaleX = 1 / (xs[start + 3] - startX);
+            mStartXs[i] = startX;
+            mStartYs[i] = startY;
+            mScaleXs[i] = scaleX;
+            mSolvers[i] = new CubicBezierSolver(
+                    (xs[start + 1] - startX) * scaleX, ys[start + 1] - startY,
+                    (xs[start + 2] - startX) * scaleX, ys[start + 2] - startY,
+                    ys[start + 3] - startY);
+        }
+        mStartXs[mSegmentCount] = 1;
+        mSegmentIndex = buildSegmentIndex(mStartXs, getIndexCellCount(mStartXs, mSegmentCount));
+    }
+
+    private static void checkControlPoints(float[] xs, float[] ys, int continuity) {
+        if (xs == null || ys == null || xs.length != ys.length || xs.length < 4 || (xs.length - 1) % 3 != 0) {
+            throw new IllegalArgumentException("控制点个数必须为3n + 1，n为段数");
+        }
+        int last = xs.length - 1;
+        if (xs[0] != 0 || ys[0] != 0 || xs[last] != 1f || ys[last] != 1f) {
+            throw new IllegalArgumentException("控制点起始必须为(0,0)， 终点必须为(1,1)");
+        }
+        for (int start = 0; start < last; start += 3) {
+            float startX = xs[start];
+            float endX = xs[start + 3];
+            if (!(endX > startX)) {
+                throw new IllegalArgumentException("连接点X坐标必须严格递增：第" + (start / 3) + "段");
+            }
+            if (xs[start + 1] < startX || xs[start + 1] > endX || xs[start + 2] < startX || xs[start + 2] > endX) {
+                throw new IllegalArgumentException("控制点X坐标必须在该段起点和终点之间：第" + (start / 3) + "段");
+            }
+        }
+        switch (continuity) {
+            case CONTINUITY_C0:
+                break;
+            case CONTINUITY_C1:
+                for (int knot = 3; knot < last; knot += 3) {
+                    if (xs[knot + 1] == xs[knot] || xs[knot - 1] == xs[knot]) {
+                        throw new IllegalArgumentException("斜率连续要求连接点两侧的控制点X坐标与连接点不同：第" + (knot / 3) + "个连接点");
+                    }
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("未知的连续性：" + continuity);
+        }
+    }
+
+    /**
+     * 使每个连接点前后两个控制点与连接点共线，曲线在连接点处的斜率dy/dx连续
+     * @return 调整后的Y坐标副本
+     */
+    private static float[] alignTangents(float[] xs, float[] ys) {
+        float[] aligned = ys.clone();
+        for (int knot = 3; knot < xs.length - 1; knot += 3) {
+            float slope = (ys[knot + 1] - ys[knot]) / (xs[knot + 1] - xs[knot]);
+            aligned[knot - 1] = ys[knot] - slope * (xs[knot] - xs[knot - 1]);
+        }
+        return aligned;
+    }
+
+    /**
+     * 分段索引的格数：每格不宽于最窄的段，格内最多只有一个连接点，查找时最多向后移动一段。
+     * 最窄的段窄于1 / {@link #MAX_INDEX_CELLS}时格数取上限，落在同一格内的窄段需要逐段向后查找，
+     * 开销与该格内的段数成正比
+     */
+    private static int getIndexCellCount(float[] startXs, int segmentCount) {
+        float minWidth = 1;
+        for (int i = 0; i < segmentCount; i++) {
+            minWidth = Math.min(minWidth, startXs[i + 1] - startXs[i]);
+        }
+        double cellCount = Math.max(segmentCount * INDEX_CELLS_PER_SEGMENT, Math.ceil(1 / minWidth));
+        return (int) Math.min(MAX_INDEX_CELLS, cellCount);
+    }
+
+    /**
+     * 创建分段索引：把[0,1]等分为cellCount格，记录每格起点所在的段
+     */
+    private static int[] buildSegmentIndex(float[] startXs, int cellCount) {
+        int[] index = new int[cellCount];
+        int segment = 0;
+        int lastSegment = startXs.length - 2;
+        for (int i = 0; i < cellCount; i++) {
+            float x = (float) i / cellCount;
+            while (segment < lastSegment && x >= startXs[segment + 1]) {
+                segment++;
+            }
+            index[i] = segment;
+        }
+        return index;
+    }
+
+    /**
+     * @return 段数
+     */
+    public int getSegmentCount() {
+        return mSegmentCount;
+    }
+
+    /**
+     * 查找X坐标所在的段，从所在格记录的段开始向后查找，见{@link #getIndexCellCount(float[], int)}
+     */
+    private int findSegment(float x) {
+        final int[] index = mSegmentIndex;
+        final float[] startXs = mStartXs;
+        int segment = index[Math.min((int) (x * index.length), index.length - 1)];
+        while (x >= startXs[segment + 1] && segment < mSegmentCount - 1) {
+            segment++;
+        }
+        return segment;
+    }
+
+    @Override
+    public float getInterpolation(float input) {
+        int segment = findSegment(input);
+        float u = (input - mStartXs[segment]) * mScaleXs[segment];
+        return mStartYs[segment] + mSolvers[segment].getInterpolation(u);
+    }
+
+    @Override
+    public void getInterpolation(float[] in, float[] out, int offset, int count) {
+        for (int i = offset, end = offset + count; i < end; i++) {
+            float input = in[i];
+            if (input <= 0) {
+                out[i] = 0;
+            } else if (input >= 1) {
+                out[i] = 1;
+            } else {
+                out[i] = getInterpolation(input);
+            }
+        }
+    }
+
+    @Override
+    public void getInterpolationAndVelocity(float input, float[] out) {
+        int segment = findSegment(input);
+        float u = (input - mStartXs[segment]) * mScaleXs[segment];
+        mSolvers[segment].getInterpolationAndVelocity(u, out);
+        out[0] += mStartYs[segment];
+        //段内斜率对应局部坐标u，换算为对input的斜率
+        out[1] *= mScaleXs[segment];
+    }
+
+    @Override
+    public int getTableBytes() {
+        int bytes = (mStartXs.length + mStartYs.length + mScaleXs.length + mSegmentIndex.length) * 4;
+        for (CubicBezierSolver solver : mSolvers) {
+            bytes += solver.getTableBytes();
+        }
+        return bytes;
+    }
+}
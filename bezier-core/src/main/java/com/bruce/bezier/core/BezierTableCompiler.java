@@ -0,0 +1,102 @@
+package com.bruce.bezier.core;
+
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+
+/**
+ * 构建步骤：把曲线清单编译为{@link BezierTableFile}格式的查找表文件
+ * 用法：BezierTableCompiler 曲线清单 输出文件
+ *
+ * 曲线清单每行一条曲线，#开头为注释：
+ * <pre>
+ * 名称 查找方式 x0 y0 x1 y1 ... xn yn
+ * ease analytic 0 0 0.25 0.1 0.25 1 1 1
+ * ease_uniform uniform:513 0 0 0.25 0.1 0.25 1 1 1
+ * ease_adaptive adaptive:0.00005 0 0 0.25 0.1 0.25 1 1 1
+ * </pre>
+ * 查找方式为parametric、uniform[:查找表长度]、analytic或adaptive[:最大误差]
+ */
+public final class BezierTableCompiler {
+
+    private BezierTableCompiler() {
+
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("用法：BezierTableCompiler 曲线清单 输出文件");
+            System.exit(1);
+        }
+        BezierTableWriter writer = new BezierTableWriter();
+        int count = 0;
+        BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(args[0]), BezierTableFile.UTF_8));
+        try {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                try {
+                    addCurve(writer, line.split("\\s+"));
+                } catch (IllegalArgumentException e) {
+                    throw new IOException(args[0] + "第" + lineNumber + "行：" + e.getMessage(), e);
+                }
+                count++;
+            }
+        } finally {
+            reader.close();
+        }
+
+        OutputStream out = new FileOutputStream(args[1]);
+        try {
+            writer.writeTo(out);
+        } finally {
+            out.close();
+        }
+        System.out.println("已生成" + count + "条曲线：" + args[1]);
+    }
+
+    private static void addCurve(BezierTableWriter writer, String[] fields) {
+        if (fields.length < 4 || fields.length % 2 != 0) {
+            throw new IllegalArgumentException("格式应为：名称 查找方式 x0 y0 x1 y1 ...");
+        }
+        String[] mode = fields[1].split(":", 2);
+        int lookupMode;
+        int tableSize = 0;
+        float tolerance = 0;
+        switch (mode[0]) {
+            case "parametric":
+                lookupMode = BezierLookups.LOOKUP_PARAMETRIC;
+                break;
+            case "uniform":
+                lookupMode = BezierLookups.LOOKUP_UNIFORM;
+                tableSize = mode.length > 1 ? Integer.parseInt(mode[1]) : BezierLookups.DEFAULT_UNIFORM_TABLE_SIZE;
+                break;
+            case "analytic":
+                lookupMode = BezierLookups.LOOKUP_ANALYTIC;
+                break;
+            case "adaptive":
+                lookupMode = BezierLookups.LOOKUP_ADAPTIVE;
+                tolerance = mode.length > 1 ? Float.parseFloat(mode[1]) : BezierLookups.DEFAULT_TOLERANCE;
+                break;
+            default:
+                throw new IllegalArgumentException("未知的查找方式：" + fields[1]);
+        }
+
+        int pointCount = (fields.length - 2) / 2;
+        float[] xs = new float[pointCount];
+        float[] ys = new float[pointCount];
+        for (int i = 0; i < pointCount; i++) {
+            xs[i] = Float.parseFloat(fields[2 + i * 2]);
+            ys[i] = Float.parseFloat(fields[3 + i * 2]);
+        }
+        writer.add(fields[0], xs, ys, lookupMode, tableSize, tolerance);
+    }
+}
@@ -0,0 +1,233 @@
+package com.bruce.bezier.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 预计算查找表文件
+ * 构建时由{@link BezierTableWriter}生成，运行时用{@link FileChannel#map}映射，
+ * 查找表以{@link FloatBuffer}视图直接读取，不需要计算也不复制到堆中，多个进程通过页缓存共享同一份数据
+ *
+ * 文件格式，小端序，所有字段按4字节对齐：
+ * <pre>
+ * int 魔数 {@link #MAGIC}
+ * int 版本 {@link #VERSION}
+ * int 曲线个数
+ * 每条曲线：
+ *   int 名称的UTF-8字节数，随后为名称，补0到4字节对齐
+ *   int 查找方式，见{@link BezierLookups}
+ *   int 控制点个数n
+ *   int 查找表长度m，解析求解为0
+ *   float 自适应细分的最大误差，其它查找方式为0
+ *   float[n] 控制点X坐标
+ *   float[n] 控制点Y坐标
+ *   float[m] 查找表：按时间t采样时为X、Y交错的点集，X方向等分时为Y坐标
+ * </pre>
+ */
+public final class BezierTableFile {
+
+    /**文件开头的魔数，按小端序读取为"BZTB" */
+    public static final int MAGIC = 0x42545A42;
+    /**文件格式版本，格式不兼容时递增 */
+    public static final int VERSION = 1;
+
+    static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final Map<String, Entry> mEntries;
+
+    private BezierTableFile(Map<String, Entry> entries) {
+        mEntries = entries;
+    }
+
+    /**
+     * 映射整个文件
+     * @param file 查找表文件
+     * @return 查找表文件
+     * @throws IOException 读取失败或文件格式不正确
+     */
+    public static BezierTableFile map(File file) throws IOException {
+        RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+        try {
+            FileChannel channel = randomAccessFile.getChannel();
+            return map(channel, 0, channel.size());
+        } finally {
+            //映射建立后关闭文件不影响映射
+            randomAccessFile.close();
+        }
+    }
+
+    /**
+     * 映射文件的一部分，用于未压缩的assets等嵌在其它文件中的数据
+     * @param channel 文件通道
+     * @param position 起始位置
+     * @param size 长度
+     * @return 查找表文件
+     * @throws IOException 读取失败或文件格式不正确
+     */
+    public static BezierTableFile map(FileChannel channel, long position, long size) throws IOException {
+        return read(channel.map(FileChannel.MapMode.READ_ONLY, position, size));
+    }
+
+    /**
+     * 从缓冲区读取，查找表直接引用缓冲区的内容
+     * @param buffer 从position开始为文件内容，读取后position不变
+     * @return 查找表文件
+     * @throws IOException 文件格式不正确
+     */
+    public static BezierTableFile read(ByteBuffer buffer) throws IOException {
+        ByteBuffer data = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+        try {
+            if (data.getInt() != MAGIC) {
+                throw new IOException("不是贝塞尔查找表文件");
+            }
+            int version = data.getInt();
+            if (version != VERSION) {
+                throw new IOException("不支持的查找表文件版本：" + version);
+            }
+            int count = data.getInt();
+            Map<String, Entry> entries = new LinkedHashMap<>();
+            for (int i = 0; i < count; i++) {
+                Entry entry = readEntry(data);
+                entries.put(entry.mName, entry);
+            }
+            return new BezierTableFile(Collections.unmodifiableMap(entries));
+        } catch (RuntimeException e) {
+            //长度越界、查找方式与控制点不符等
+            throw new IOException("查找表文件已损坏", e);
+        }
+    }
+
+    private static Entry readEntry(ByteBuffer data) {
+        byte[] name = new byte[data.getInt()];
+        data.get(name);
+        data.position(align(data.position()));
+
+        int lookupMode = data.getInt();
+        int pointCount = data.getInt();
+        int tableLength = data.getInt();
+        float tolerance = data.getFloat();
+        float[] xs = new float[pointCount];
+        float[] ys = new float[pointCount];
+        data.asFloatBuffer().get(xs).get(ys);
+        data.position(data.position() + pointCount * 2 * 4);
+
+        //slice会把字节序重置为大端，需要重新设置
+        ByteBuffer tableBytes = data.slice().order(ByteOrder.LITTLE_ENDIAN);
+        tableBytes.limit(tableLength * 4);
+        FloatBuffer table = tableBytes.asFloatBuffer();
+        data.position(data.position() + tableLength * 4);
+
+        BezierLookup lookup;
+        switch (lookupMode) {
+            case BezierLookups.LOOKUP_PARAMETRIC:
+            case BezierLookups.LOOKUP_ADAPTIVE:
+                lookup = new BufferParametricLookupTable(table);
+                break;
+            case BezierLookups.LOOKUP_UNIFORM:
+                lookup = new BufferUniformLookupTable(table);
+                break;
+            default:
+                //解析求解没有查找表，由控制点直接创建
+                lookup = BezierLookups.create(xs, ys, lookupMode, 0, 0);
+                break;
+        }
+        return new Entry(new String(name, UTF_8), lookupMode, xs, ys,
+                lookupMode == BezierLookups.LOOKUP_UNIFORM ? tableLength : 0, tolerance, lookup);
+    }
+
+    static int align(int position) {
+        return (position + 3) & ~3;
+    }
+
+    /**
+     * @param name 曲线名称
+     * @return 曲线，不存在时为null
+     */
+    public Entry get(String name) {
+        return mEntries.get(name);
+    }
+
+    /**
+     * @return 所有曲线，按写入的顺序
+     */
+    public Collection<Entry> getEntries() {
+        return mEntries.values();
+    }
+
+    /**
+     * 文件中的一条曲线
+     */
+    public static final class Entry {
+
+        private final String mName;
+        private final int mLookupMode;
+        private final float[] mXs;
+        private final float[] mYs;
+        private final int mTableSize;
+        private final float mTolerance;
+        private final BezierLookup mLookup;
+
+        Entry(String name, int lookupMode, float[] xs, float[] ys, int tableSize, float tolerance, BezierLookup lookup) {
+            mName = name;
+            mLookupMode = lookupMode;
+            mXs = xs;
+            mYs = ys;
+            mTableSize = tableSize;
+            mTolerance = tolerance;
+            mLookup = lookup;
+        }
+
+        public String getName() {
+            return mName;
+        }
+
+        public int getLookupMode() {
+            return mLookupMode;
+        }
+
+        /**
+         * @return 控制点X坐标的副本
+         */
+        public float[] getXs() {
+            return mXs.clone();
+        }
+
+        /**
+         * @return 控制点Y坐标的副本
+         */
+        public float[] getYs() {
+            return mYs.clone();
+        }
+
+        /**
+         * @return X方向等分查找表的长度，其它查找方式为0
+         */
+        public int getTableSize() {
+            return mTableSize;
+        }
+
+        /**
+         * @return 自适应细分的最大误差，其它查找方式为0
+         */
+        public float getTolerance() {
+            return mTolerance;
+        }
+
+        /**
+         * @return 直接读取映射内容的查找策略，不可变，可以在任意线程间共享
+         */
+        public BezierLookup getLookup() {
+            return mLookup;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.bruce.bezier.core;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 生成{@link BezierTableFile}格式的预计算查找表文件，在构建时运行
+ */
+public final class BezierTableWriter {
+
+    private final List<Curve> mCurves = new ArrayList<>();
+    private final Set<String> mNames = new HashSet<>();
+
+    /**
+     * 添加一条曲线并计算查找表
+     * X坐标不单调时按{@link BezierLookups#MONOTONE_CLAMP}调整，文件中保存调整后的控制点
+     * @param name 曲线名称，不能重复
+     * @param xs 控制点X坐标，起点为0，终点为1
+     * @param ys 控制点Y坐标，起点为0，终点为1
+     * @param lookupMode 查找方式，见{@link BezierLookups}
+     * @param tableSize X方向等分查找表的长度，仅对{@link BezierLookups#LOOKUP_UNIFORM}有效
+     * @param tolerance 自适应细分的最大误差，仅对{@link BezierLookups#LOOKUP_ADAPTIVE}有效
+     * @return BezierTableWriter
+     */
+    public BezierTableWriter add(String name, float[] xs, float[] ys, int lookupMode, int tableSize, float tolerance) {
+        if (name == null || !mNames.add(name)) {
+            throw new IllegalArgumentException("曲线名称不能为空且不能重复：" + name);
+        }
+        if (xs == null || ys == null || xs.length != ys.length || xs.length <= 2) {
+            throw new IllegalArgumentException("控制点集合不能为空，且控制点个数必须大于2");
+        }
+        int last = xs.length - 1;
+        if (xs[0] != 0 || ys[0] != 0 || xs[last] != 1f || ys[last] != 1f) {
+            throw new IllegalArgumentException("控制点起始必须为(0,0)， 终点必须为(1,1)");
+        }
+
+        MonotoneCurve curve = MonotoneCurve.of(xs, ys, lookupMode, BezierLookups.MONOTONE_CLAMP);
+        float[] table;
+        switch (lookupMode) {
+            case BezierLookups.LOOKUP_PARAMETRIC:
+                table = curve.buildParametricTable();
+                tolerance = 0;
+                break;
+            case BezierLookups.LOOKUP_UNIFORM:
+                table = curve.buildUniformTable(tableSize);
+                tolerance = 0;
+                break;
+            case BezierLookups.LOOKUP_ADAPTIVE:
+                if (!(tolerance > 0)) {
+                    throw new IllegalArgumentException("误差必须大于0");
+                }
+                table = curve.buildAdaptiveTable(tolerance);
+                break;
+            case BezierLookups.LOOKUP_ANALYTIC:
+                if (xs.length != 4) {
+                    throw new IllegalArgumentException("解析求解只支持三阶曲线，控制点个数必须为4");
+                }
+                table = new float[0];
+                tolerance = 0;
+                break;
+            default:
+                throw new IllegalArgumentException("未知的查找方式：" + lookupMode);
+        }
+        mCurves.add(new Curve(name.getBytes(BezierTableFile.UTF_8), lookupMode, curve.mXs.clone(), ys.clone(), table, tolerance));
+        return this;
+    }
+
+    /**
+     * 写出文件内容
+     * @param out 输出流，不会被关闭
+     * @throws IOException 写入失败
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        int size = 3 * 4;
+        for (Curve curve : mCurves) {
+            size += 4 + BezierTableFile.align(curve.mName.length) + 4 * 4
+                    + (curve.mXs.length * 2 + curve.mTable.length) * 4;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(BezierTableFile.MAGIC);
+        buffer.putInt(BezierTableFile.VERSION);
+        buffer.putInt(mCurves.size());
+        for (Curve curve : mCurves) {
+            buffer.putInt(curve.mName.length);
+            buffer.put(curve.mName);
+            buffer.position(BezierTableFile.align(buffer.position()));
+            buffer.putInt(curve.mLookupMode);
+            buffer.putInt(curve.mXs.length);
+            buffer.putInt(curve.mTable.length);
+            buffer.putFloat(curve.mTolerance);
+            for (float x : curve.mXs) {
+                buffer.putFloat(x);
+            }
+            for (float y : curve.mYs) {
+                buffer.putFloat(y);
+            }
+            for (float value : curve.mTable) {
+                buffer.putFloat(value);
+            }
+        }
+        out.write(buffer.array(), 0, buffer.position());
+    }
+
+    private static final class Curve {
+
+        final byte[] mName;
+        final int mLookupMode;
+        final float[] mXs;
+        final float[] mYs;
+        final float[] mTable;
+        final float mTolerance;
+
+        Curve(byte[] name, int lookupMode, float[] xs, float[] ys, float[] table, float tolerance) {
+            mName = name;
+            mLookupMode = lookupMode;
+            mXs = xs;
+            mYs = ys;
+            mTable = table;
+            mTolerance = tolerance;
+        }
+    }
+}
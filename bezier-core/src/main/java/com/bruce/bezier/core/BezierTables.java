@@ -0,0 +1,252 @@
+package com.bruce.bezier.core;
+
+import java.util.Arrays;
+
+/**
+ * 贝塞尔曲线查找表的采样方法
+ * 只依赖基本类型，不保存任何状态，可以在任意线程中并发调用
+ */
+public final class BezierTables {
+
+    /**贝塞尔曲线在单位1的时间下等分数 */
+    public static final int UNIT_EQUAL_PARTS = 1000;
+    /**按t等分的采样点个数，包含起点和终点 */
+    public static final int UNIT_SAMPLE_COUNT = UNIT_EQUAL_PARTS + 1;
+    /**自适应细分的最大深度，最多产生2^16段 */
+    private static final int MAX_SUBDIVISION_DEPTH = 16;
+
+    /**自适应细分误差：曲线到弦的距离，用于绘制 */
+    public static final int FLATNESS_DISTANCE = 0;
+    /**自适应细分误差：同一X坐标上曲线与弦的Y方向距离，用于插值查找 */
+    public static final int FLATNESS_VERTICAL = 1;
+
+    private BezierTables() {
+
+    }
+
+    /**
+     * 创建Bezier点集，结果以X、Y交错的方式存放在一个float数组中：{x0, y0, x1, y1, ...}
+     * 共{@link #UNIT_SAMPLE_COUNT}个点，第一个点为起点，最后一个点为终点
+     * @param curve 曲线多项式
+     * @return 贝塞尔曲线点集合
+     */
+    public static float[] buildBezierPointArray(BezierCurve curve) {
+        float[] points = new float[UNIT_SAMPLE_COUNT * 2];
+        buildBezierPointArray(curve, points);
+        return points;
+    }
+
+    /**
+     * 创建Bezier点集并写入调用方分配的数组，数组可以重复使用
+     * 使用前向差分采样，见{@link BezierCurve#sample(int, float[])}
+     * @param curve 曲线多项式
+     * @param points 长度为{@link #UNIT_SAMPLE_COUNT} * 2的数组
+     */
+    public static void buildBezierPointArray(BezierCurve curve, float[] points) {
+        if (points.length != UNIT_SAMPLE_COUNT * 2) {
+            throw new IllegalArgumentException("点集数组长度必须为" + UNIT_SAMPLE_COUNT * 2);
+        }
+        curve.sample(UNIT_EQUAL_PARTS, points);
+    }
+
+    /**
+     * 创建X方向等分的查找表，第i个元素为X坐标等于i / (size - 1)时曲线的Y坐标
+     * 每个元素都通过求解x(t) = x得到，不经过按t采样的点集
+     * @param curve 曲线多项式，X坐标不单调时取t最小的解
+     * @param size 查找表长度，至少为2
+     * @return Y坐标查找表
+     */
+    public static float[] buildUniformTable(BezierCurve curve, int size) {
+        return buildUniformTable(curve, size, false);
+    }
+
+    /**
+     * 创建X方向等分的查找表，X坐标不单调时每个元素取指定一支的解
+     * @param curve 曲线多项式
+     * @param size 查找表长度，至少为2
+     * @param last 同一X坐标有多个解时，true取t最大的解，false取t最小的解
+     * @return Y坐标查找表
+     */
+    public static float[] buildUniformTable(BezierCurve curve, int size, boolean last) {
+        if (size < 2) {
+            throw new IllegalArgumentException("查找表长度至少为2");
+        }
+        float[] values = new float[size];
+        for (int i = 0; i < size; i++) {
+            double x = (double) i / (size - 1);
+            values[i] = (float) curve.getExactY(curve.solveT(x, last));
+        }
+        return values;
+    }
+
+    /**
+     * 从按t排列的点集中取出X坐标单调递增的一支，用于X坐标不单调的曲线
+     * 取t最小的解时，只保留X坐标超过之前所有点的点；曲线折返后重新越过之前的最大值时，
+     * 补上越过处的点，与折返前的点X坐标相同，查找结果在此处跳变。取t最大的解时从终点反向处理
+     * @param points X、Y交错存放的点集
+     * @param last true取t最大的解，false取t最小的解
+     * @return X坐标单调递增的点集
+     */
+    public static float[] toBranch(float[] points, boolean last) {
+        int count = points.length / 2;
+        int step = last ? -1 : 1;
+        int first = last ? count - 1 : 0;
+        PointBuffer buffer = new PointBuffer();
+        float bound = points[first * 2];
+        buffer.add(bound, points[first * 2 + 1]);
+        for (int i = first + step; i >= 0 && i < count; i += step) {
+            float x = points[i * 2];
+            if (last ? x >= bound : x <= bound) {
+                continue;
+            }
+            float previousX = points[(i - step) * 2];
+            if (last ? previousX > bound : previousX < bound) {
+                float previousY = points[(i - step) * 2 + 1];
+                float fraction = (bound - previousX) / (x - previousX);
+                buffer.add(bound, previousY + fraction * (points[i * 2 + 1] - previousY));
+            }
+            buffer.add(x, points[i * 2 + 1]);
+            bound = x;
+        }
+        float[] result = buffer.toArray();
+        if (last) {
+            //反向处理得到的点X坐标递减，逐点反转
+            for (int i = 0, j = result.length - 2; i < j; i += 2, j -= 2) {
+                float x = result[i];
+                float y = result[i + 1];
+                result[i] = result[j];
+                result[i + 1] = result[j + 1];
+                result[j] = x;
+                result[j + 1] = y;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 测量查找策略相对于精确曲线的最大误差，见{@link BezierError}
+     * @param curve 曲线多项式，X坐标不单调时与t最小的解比较
+     * @param lookup 查找策略
+     * @return 最大绝对误差
+     */
+    public static float measureMaxError(BezierCurve curve, BezierLookup lookup) {
+        return BezierError.measure(curve, lookup, BezierError.DEFAULT_PROBE_COUNT).getMaxError();
+    }
+
+    /**
+     * 自适应细分创建Bezier点集，结果以X、Y交错的方式存放：{x0, y0, x1, y1, ...}
+     * 用de Casteljau算法在t = 0.5处递归二分控制多边形，直到所有控制点与弦的距离都不超过tolerance，
+     * 由凸包性质，这样停止的段与相邻两点连线的误差不超过tolerance，平缓的曲线只需很少的点。
+     * 细分最多16层，达到上限的段直接输出，误差不受tolerance限制：
+     * {@link #FLATNESS_VERTICAL}下弦的X长度为0(竖直的段)时总是细分到上限，因此误差只是尽量控制，不作保证。
+     * @param xs 控制点X坐标
+     * @param ys 控制点Y坐标
+     * @param tolerance 允许的最大误差
+     * @param flatness {@link #FLATNESS_DISTANCE} 或 {@link #FLATNESS_VERTICAL}
+     * @return 贝塞尔曲线点集合
+     */
+    public static float[] buildAdaptiveBezierPointArray(float[] xs, float[] ys, float tolerance, int flatness) {
+        if (xs == null || ys == null || xs.length != ys.length || xs.length < 2) {
+            throw new IllegalArgumentException("控制点X、Y坐标个数必须相同，且至少为2个");
+        }
+        if (!(tolerance > 0)) {
+            throw new IllegalArgumentException("误差必须大于0");
+        }
+        double[] controlXs = new double[xs.length];
+        double[] controlYs = new double[ys.length];
+        for (int i = 0; i < xs.length; i++) {
+            controlXs[i] = xs[i];
+            controlYs[i] = ys[i];
+        }
+        PointBuffer buffer = new PointBuffer();
+        buffer.add(xs[0], ys[0]);
+        subdivide(controlXs, controlYs, tolerance, flatness, 0, buffer);
+        return buffer.toArray();
+    }
+
+    /**
+     * 递归细分，足够平直时只输出终点
+     */
+    private static void subdivide(double[] xs, double[] ys, float tolerance, int flatness, int depth, PointBuffer buffer) {
+        int order = xs.length - 1;
+        if (depth >= MAX_SUBDIVISION_DEPTH || isFlat(xs, ys, tolerance, flatness)) {
+            buffer.add((float) xs[order], (float) ys[order]);
+            return;
+        }
+        double[] leftXs = new double[order + 1];
+        double[] leftYs = new double[order + 1];
+        double[] rightXs = new double[order + 1];
+        double[] rightYs = new double[order + 1];
+        //de Casteljau：每一层的第一个点属于左半段，最后一个点属于右半段
+        double[] workXs = xs.clone();
+        double[] workYs = ys.clone();
+        for (int level = 0; level <= order; level++) {
+            leftXs[level] = workXs[0];
+            leftYs[level] = workYs[0];
+            rightXs[order - level] = workXs[order - level];
+            rightYs[order - level] = workYs[order - level];
+            for (int i = 0; i < order - level; i++) {
+                workXs[i] = (workXs[i] + workXs[i + 1]) * 0.5;
+                workYs[i] = (workYs[i] + workYs[i + 1]) * 0.5;
+            }
+        }
+        subdivide(leftXs, leftYs, tolerance, flatness, depth + 1, buffer);
+        subdivide(rightXs, rightYs, tolerance, flatness, depth + 1, buffer);
+    }
+
+    /**
+     * 判断控制多边形是否足够平直
+     */
+    private static boolean isFlat(double[] xs, double[] ys, float tolerance, int flatness) {
+        int order = xs.length - 1;
+        double chordX = xs[order] - xs[0];
+        double chordY = ys[order] - ys[0];
+        if (flatness == FLATNESS_VERTICAL) {
+            //X坐标折返的部分弦可能向左，斜率的算法不变
+            if (chordX == 0) {
+                return false;
+            }
+            double slope = chordY / chordX;
+            for (int i = 1; i < order; i++) {
+                if (Math.abs(ys[i] - ys[0] - (xs[i] - xs[0]) * slope) > tolerance) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        //到弦线段的距离，弦的tolerance邻域是凸的，控制点都在其中则曲线也在其中
+        double lengthSquared = chordX * chordX + chordY * chordY;
+        double toleranceSquared = (double) tolerance * tolerance;
+        for (int i = 1; i < order; i++) {
+            double dx = xs[i] - xs[0];
+            double dy = ys[i] - ys[0];
+            double fraction = lengthSquared == 0 ? 0 : Math.max(0, Math.min(1, (dx * chordX + dy * chordY) / lengthSquared));
+            dx -= fraction * chordX;
+            dy -= fraction * chordY;
+            if (dx * dx + dy * dy > toleranceSquared) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 可增长的点集缓冲，X、Y交错存放
+     */
+    private static class PointBuffer {
+        private float[] mPoints = new float[64];
+        private int mSize;
+
+        void add(float x, float y) {
+            if (mSize + 2 > mPoints.length) {
+                mPoints = Arrays.copyOf(mPoints, mPoints.length * 2);
+            }
+            mPoints[mSize++] = x;
+            mPoints[mSize++] = y;
+        }
+
+        float[] toArray() {
+            return Arrays.copyOf(mPoints, mSize);
+        }
+    }
+}
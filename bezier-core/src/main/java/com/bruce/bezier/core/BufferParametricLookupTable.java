@@ -0,0 +1,31 @@
+package com.bruce.bezier.core;
+
+import java.nio.FloatBuffer;
+
+/**
+ * 直接读取{@link FloatBuffer}的按时间t采样的查找表，用于内存映射的预计算表文件
+ * 查找方式与{@link ParametricLookupTable}相同，数据不复制到堆中，多个进程通过页缓存共享
+ */
+final class BufferParametricLookupTable extends AbstractParametricLookupTable {
+
+    /**贝塞尔点集，X、Y交错存放：{x0, y0, x1, y1, ...} */
+    private final FloatBuffer mBezierPoints;
+
+    /**
+     * @param bezierPoints X、Y交错存放的贝塞尔点集，从下标0开始
+     */
+    BufferParametricLookupTable(FloatBuffer bezierPoints) {
+        super(bezierPoints.limit() / 2);
+        mBezierPoints = bezierPoints;
+    }
+
+    @Override
+    float get(int index) {
+        return mBezierPoints.get(index);
+    }
+
+    @Override
+    public int getTableBytes() {
+        return 0;
+    }
+}
@@ -0,0 +1,79 @@
+package com.bruce.bezier.core;
+
+import java.nio.FloatBuffer;
+
+/**
+ * 直接读取{@link FloatBuffer}的X方向等分查找表，用于内存映射的预计算表文件
+ * 查找方式与{@link UniformLookupTable}相同
+ */
+final class BufferUniformLookupTable implements SizedLookup {
+
+    /**第i个元素为X坐标等于i / (limit - 1)时的Y坐标 */
+    private final FloatBuffer mValues;
+    /**最后一个元素的下标，即X方向等分数 */
+    private final int mLastIndex;
+
+    /**
+     * @param values X方向等分的Y坐标查找表，从下标0开始
+     */
+    BufferUniformLookupTable(FloatBuffer values) {
+        mValues = values;
+        mLastIndex = values.limit() - 1;
+    }
+
+    @Override
+    public float getInterpolation(float input) {
+        float position = input * mLastIndex;
+        int index = (int) position;
+        if (index >= mLastIndex) {
+            return mValues.get(mLastIndex);
+        }
+        float fraction = position - index;
+        float startY = mValues.get(index);
+        return startY + fraction * (mValues.get(index + 1) - startY);
+    }
+
+    @Override
+    public void getInterpolation(float[] in, float[] out, int offset, int count) {
+        for (int i = offset, end = offset + count; i < end; i++) {
+            float input = in[i];
+            if (input <= 0) {
+                out[i] = 0;
+            } else if (input >= 1) {
+                out[i] = 1;
+            } else {
+                out[i] = getInterpolation(input);
+            }
+        }
+    }
+
+    @Override
+    public void getInterpolationAndVelocity(float input, float[] out) {
+        float position = input * mLastIndex;
+        int index = (int) position;
+        if (index >= mLastIndex) {
+            out[0] = mValues.get(mLastIndex);
+            out[1] = knotSlope(mLastIndex);
+            return;
+        }
+        float fraction = position - index;
+        float startY = mValues.get(index);
+        out[0] = startY + fraction * (mValues.get(index + 1) - startY);
+        float startSlope = knotSlope(index);
+        out[1] = startSlope + fraction * (knotSlope(index + 1) - startSlope);
+    }
+
+    /**
+     * 第index个元素处的斜率，见{@link UniformLookupTable}
+     */
+    private float knotSlope(int index) {
+        int low = Math.max(index - 1, 0);
+        int high = Math.min(index + 1, mLastIndex);
+        return (mValues.get(high) - mValues.get(low)) * mLastIndex / (high - low);
+    }
+
+    @Override
+    public int getTableBytes() {
+        return 0;
+    }
+}
@@ -0,0 +1,166 @@
+package com.bruce.bezier.core;
+
+/**
+ * 三阶贝塞尔曲线的解析求解，与CSS cubic-bezier()的实现方式相同
+ * 起点(0,0)、终点(1,1)或(1, endY)，不需要采样点集：
+ * 先用一张很小的X坐标表估计t的初值，再用牛顿迭代求解x(t) = input，斜率过小时退回二分法
+ */
+final class CubicBezierSolver implements SizedLookup {
+
+    /**初值估计表的长度 */
+    private static final int SPLINE_TABLE_SIZE = 11;
+    private static final float SAMPLE_STEP = 1.0f / (SPLINE_TABLE_SIZE - 1);
+
+    private static final int NEWTON_ITERATIONS = 8;
+    /**斜率低于此值时牛顿迭代不再收敛，改用二分法 */
+    private static final float NEWTON_MIN_SLOPE = 0.001f;
+    /**|x(t) - input|小于此值时结束迭代 */
+    private static final float SOLVE_PRECISION = 0.0000001f;
+    private static final int SUBDIVISION_MAX_ITERATIONS = 24;
+
+    /**x(t) = ((ax * t + bx) * t + cx) * t */
+    private final float mAx, mBx, mCx;
+    /**y(t) = ((ay * t + by) * t + cy) * t */
+    private final float mAy, mBy, mCy;
+
+    /**t = i * SAMPLE_STEP 时的X坐标 */
+    private final float[] mSampleValues = new float[SPLINE_TABLE_SIZE];
+
+    /**
+     * @param x1 第一个控制点X坐标
+     * @param y1 第一个控制点Y坐标
+     * @param x2 第二个控制点X坐标
+     * @param y2 第二个控制点Y坐标
+     */
+    CubicBezierSolver(float x1, float y1, float x2, float y2) {
+        this(x1, y1, x2, y2, 1);
+    }
+
+    /**
+     * 终点为(1, endY)的曲线，用于分段曲线中的一段，Y坐标相对于该段起点
+     * @param x1 第一个控制点X坐标
+     * @param y1 第一个控制点Y坐标
+     * @param x2 第二个控制点X坐标
+     * @param y2 第二个控制点Y坐标
+     * @param endY 终点Y坐标
+     */
+    CubicBezierSolver(float x1, float y1, float x2, float y2, float endY) {
+        mCx = 3 * x1;
+        mBx = 3 * (x2 - x1) - mCx;
+        mAx = 1 - mCx - mBx;
+        mCy = 3 * y1;
+        mBy = 3 * (y2 - y1) - mCy;
+        mAy = endY - mCy - mBy;
+        for (int i = 0; i < SPLINE_TABLE_SIZE; i++) {
+            mSampleValues[i] = sampleX(i * SAMPLE_STEP);
+        }
+    }
+
+    private float sampleX(float t) {
+        return ((mAx * t + mBx) * t + mCx) * t;
+    }
+
+    private float sampleY(float t) {
+        return ((mAy * t + mBy) * t + mCy) * t;
+    }
+
+    private float sampleDerivativeX(float t) {
+        return (3 * mAx * t + 2 * mBx) * t + mCx;
+    }
+
+    private float sampleDerivativeY(float t) {
+        return (3 * mAy * t + 2 * mBy) * t + mCy;
+    }
+
+    /**
+     * 求X坐标为x时的时间t
+     * @param x X坐标，范围(0,1)
+     * @return 时间t
+     */
+    private float solveT(float x) {
+        //在估计表中找到x所在区间，并按区间内线性比例估计t
+        int index = 1;
+        int lastIndex = SPLINE_TABLE_SIZE - 1;
+        while (index < lastIndex && mSampleValues[index] <= x) {
+            index++;
+        }
+        index--;
+        float intervalStart = index * SAMPLE_STEP;
+        float range = mSampleValues[index + 1] - mSampleValues[index];
+        float guessT = range == 0 ? intervalStart : intervalStart + (x - mSampleValues[index]) / range * SAMPLE_STEP;
+
+        float slope = sampleDerivativeX(guessT);
+        if (slope >= NEWTON_MIN_SLOPE) {
+            for (int i = 0; i < NEWTON_ITERATIONS; i++) {
+                float delta = sampleX(guessT) - x;
+                float currentSlope = sampleDerivativeX(guessT);
+                if (Math.abs(delta) <= SOLVE_PRECISION || currentSlope == 0) {
+                    break;
+                }
+                guessT -= delta / currentSlope;
+            }
+            return guessT;
+        } else if (slope == 0) {
+            return guessT;
+        }
+        return subdivide(x, intervalStart, intervalStart + SAMPLE_STEP);
+    }
+
+    /**
+     * 二分法求解
+     * @param x X坐标
+     * @param low 区间起点
+     * @param high 区间终点
+     * @return 时间t
+     */
+    private float subdivide(float x, float low, float high) {
+        float t = low;
+        for (int i = 0; i < SUBDIVISION_MAX_ITERATIONS; i++) {
+            t = low + (high - low) / 2;
+            float delta = sampleX(t) - x;
+            if (Math.abs(delta) <= SOLVE_PRECISION) {
+                break;
+            }
+            if (delta > 0) {
+                high = t;
+            } else {
+                low = t;
+            }
+        }
+        return t;
+    }
+
+    @Override
+    public float getInterpolation(float input) {
+        return sampleY(solveT(input));
+    }
+
+    @Override
+    public void getInterpolation(float[] in, float[] out, int offset, int count) {
+        for (int i = offset, end = offset + count; i < end; i++) {
+            float input = in[i];
+            if (input <= 0) {
+                out[i] = 0;
+            } else if (input >= 1) {
+                out[i] = 1;
+            } else {
+                out[i] = sampleY(solveT(input));
+            }
+        }
+    }
+
+    @Override
+    public void getInterpolationAndVelocity(float input, float[] out) {
+        float t = input <= 0 ? 0 : input >= 1 ? 1 : solveT(input);
+        out[0] = sampleY(t);
+        //斜率为y'(t) / x'(t)，端点处控制点重合时两者都为0，取0
+        float derivativeX = sampleDerivativeX(t);
+        float derivativeY = sampleDerivativeY(t);
+        out[1] = derivativeX == 0 && derivativeY == 0 ? 0 : derivativeY / derivativeX;
+    }
+
+    @Override
+    public int getTableBytes() {
+        return mSampleValues.length * 4;
+    }
+}
@@ -0,0 +1,44 @@
+package com.bruce.bezier.core;
+
+/**
+ * 带查找游标的查找表
+ * 动画过程中输入随帧递增，相邻两帧通常落在同一个或相邻的区间，
+ * 记住上一次查找到的区间，先比较它和相邻区间，不命中时再二分，见{@link AbstractParametricLookupTable#findSegment(float, int)}
+ * 游标属于插值器实例，查找表本身仍然不可变、可共享
+ * 只应在一个线程中使用，多线程共享时使用{@link SharedCursorLookup}
+ */
+final class CursorLookup implements SizedLookup {
+
+    private final AbstractParametricLookupTable mTable;
+    /**上一次查找到的区间 */
+    private int mSegment;
+
+    CursorLookup(AbstractParametricLookupTable table) {
+        mTable = table;
+    }
+
+    @Override
+    public float getInterpolation(float input) {
+        int segment = mTable.findSegment(input, mSegment);
+        mSegment = segment;
+        return mTable.interpolate(input, segment);
+    }
+
+    @Override
+    public void getInterpolation(float[] in, float[] out, int offset, int count) {
+        mSegment = mTable.getInterpolation(in, out, offset, count, mSegment);
+    }
+
+    @Override
+    public void getInterpolationAndVelocity(float input, float[] out) {
+        int segment = mTable.findSegment(input, mSegment);
+        mSegment = segment;
+        out[0] = mTable.interpolate(input, segment);
+        out[1] = mTable.velocity(input, segment);
+    }
+
+    @Override
+    public int getTableBytes() {
+        return mTable.getTableBytes();
+    }
+}
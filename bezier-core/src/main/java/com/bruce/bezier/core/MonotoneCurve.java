@@ -0,0 +1,84 @@
+package com.bruce.bezier.core;
+
+import java.util.Arrays;
+
+/**
+ * 按单调性处理方式调整后的曲线，查找表都由它创建
+ * 处理之后查找表的X坐标一定递增，查找时不需要再考虑曲线折返
+ */
+final class MonotoneCurve {
+
+    /**控制点X坐标，{@link BezierLookups#MONOTONE_CLAMP}时为调整后的坐标 */
+    final float[] mXs;
+    /**控制点Y坐标 */
+    final float[] mYs;
+    /**曲线多项式 */
+    final BezierCurve mCurve;
+    /**X坐标不单调，需要从按t排列的点集中取出一支 */
+    final boolean mBranch;
+    /**有多个解时取t最大的解 */
+    final boolean mLast;
+
+    private MonotoneCurve(float[] xs, float[] ys, BezierCurve curve, boolean branch, boolean last) {
+        mXs = xs;
+        mYs = ys;
+        mCurve = curve;
+        mBranch = branch;
+        mLast = last;
+    }
+
+    /**
+     * 检查X坐标的单调性，不单调时按处理方式调整
+     * @param xs 控制点X坐标
+     * @param ys 控制点Y坐标
+     * @param lookupMode 查找方式
+     * @param monotonePolicy 单调性处理方式，见{@link BezierLookups}
+     * @return 调整后的曲线
+     */
+    static MonotoneCurve of(float[] xs, float[] ys, int lookupMode, int monotonePolicy) {
+        if (monotonePolicy < BezierLookups.MONOTONE_REJECT || monotonePolicy > BezierLookups.MONOTONE_LAST) {
+            throw new IllegalArgumentException("未知的单调性处理方式：" + monotonePolicy);
+        }
+        BezierCurve curve = new BezierCurve(xs, ys);
+        if (curve.isMonotone()) {
+            return new MonotoneCurve(xs, ys, curve, false, false);
+        }
+        switch (monotonePolicy) {
+            case BezierLookups.MONOTONE_REJECT:
+                throw new IllegalArgumentException("曲线X坐标不单调，折返点t=" + Arrays.toString(curve.getTurningPoints()));
+            case BezierLookups.MONOTONE_CLAMP:
+                float[] hull = BezierCurve.toMonotoneHull(xs);
+                return new MonotoneCurve(hull, ys, new BezierCurve(hull, ys), false, false);
+            default:
+                if (lookupMode == BezierLookups.LOOKUP_ANALYTIC) {
+                    throw new IllegalArgumentException("X坐标不单调的曲线只能使用查找表，不支持解析求解");
+                }
+                return new MonotoneCurve(xs, ys, curve, true, monotonePolicy == BezierLookups.MONOTONE_LAST);
+        }
+    }
+
+    /**
+     * @return 按t等分的点集
+     */
+    float[] buildParametricTable() {
+        float[] points = BezierTables.buildBezierPointArray(mCurve);
+        return mBranch ? BezierTables.toBranch(points, mLast) : points;
+    }
+
+    /**
+     * @param size 查找表长度
+     * @return X方向等分的Y坐标查找表
+     */
+    float[] buildUniformTable(int size) {
+        return BezierTables.buildUniformTable(mCurve, size, mLast);
+    }
+
+    /**
+     * @param tolerance 允许的最大误差
+     * @return 自适应细分的点集
+     */
+    float[] buildAdaptiveTable(float tolerance) {
+        float[] points = BezierTables.buildAdaptiveBezierPointArray(mXs, mYs, tolerance, BezierTables.FLATNESS_VERTICAL);
+        return mBranch ? BezierTables.toBranch(points, mLast) : points;
+    }
+}
@@ -0,0 +1,29 @@
+package com.bruce.bezier.core;
+
+/**
+ * 按时间t采样的查找表，采样点可以是等分的，也可以是自适应细分的
+ * 点集保存在堆内数组中，查找方式见{@link AbstractParametricLookupTable}
+ */
+final class ParametricLookupTable extends AbstractParametricLookupTable {
+
+    /**贝塞尔点集，X、Y交错存放：{x0, y0, x1, y1, ...} */
+    private final float[] mBezierPoints;
+
+    /**
+     * @param bezierPoints X、Y交错存放的贝塞尔点集
+     */
+    ParametricLookupTable(float[] bezierPoints) {
+        super(bezierPoints.length / 2);
+        mBezierPoints = bezierPoints;
+    }
+
+    @Override
+    float get(int index) {
+        return mBezierPoints[index];
+    }
+
+    @Override
+    public int getTableBytes() {
+        return mBezierPoints.length * 4;
+    }
+}
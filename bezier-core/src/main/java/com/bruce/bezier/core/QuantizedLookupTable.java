@@ -0,0 +1,98 @@
+package com.bruce.bezier.core;
+
+/**
+ * 16位定点数存储的X方向等分查找表
+ * 查找方式与{@link UniformLookupTable}相同，Y坐标按整张表的最小值和范围量化为0~65535，内存为float的一半
+ * 量化误差不超过Y坐标范围的1/131070，范围为[0,1]时约为7.6e-6
+ */
+final class QuantizedLookupTable implements SizedLookup {
+
+    /**16位无符号定点数的最大值 */
+    private static final int QUANTIZED_MAX = 0xFFFF;
+
+    /**第i个元素为X坐标等于i / (length - 1)时的量化Y坐标 */
+    private final char[] mValues;
+    /**最后一个元素的下标，即X方向等分数 */
+    private final int mLastIndex;
+    /**量化值为0时的Y坐标 */
+    private final float mOffset;
+    /**量化值每增加1时Y坐标的增量 */
+    private final float mScale;
+
+    /**
+     * @param values X方向等分的Y坐标查找表，量化后不再引用
+     */
+    QuantizedLookupTable(float[] values) {
+        float min = values[0];
+        float max = values[0];
+        for (float value : values) {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        float range = max - min;
+        mOffset = min;
+        mScale = range == 0 ? 0 : range / QUANTIZED_MAX;
+        mValues = new char[values.length];
+        for (int i = 0; i < values.length; i++) {
+            mValues[i] = range == 0 ? 0 : (char) Math.round((values[i] - min) / range * QUANTIZED_MAX);
+        }
+        mLastIndex = values.length - 1;
+    }
+
+    @Override
+    public float getInterpolation(float input) {
+        float position = input * mLastIndex;
+        int index = (int) position;
+        if (index >= mLastIndex) {
+            return mOffset + mValues[mLastIndex] * mScale;
+        }
+        float fraction = position - index;
+        //先在量化值上插值，再换算为Y坐标
+        float start = mValues[index];
+        return mOffset + (start + fraction * (mValues[index + 1] - start)) * mScale;
+    }
+
+    @Override
+    public void getInterpolation(float[] in, float[] out, int offset, int count) {
+        for (int i = offset, end = offset + count; i < end; i++) {
+            float input = in[i];
+            if (input <= 0) {
+                out[i] = 0;
+            } else if (input >= 1) {
+                out[i] = 1;
+            } else {
+                out[i] = getInterpolation(input);
+            }
+        }
+    }
+
+    @Override
+    public void getInterpolationAndVelocity(float input, float[] out) {
+        float position = input * mLastIndex;
+        int index = (int) position;
+        if (index >= mLastIndex) {
+            out[0] = mOffset + mValues[mLastIndex] * mScale;
+            out[1] = knotSlope(mLastIndex);
+            return;
+        }
+        float fraction = position - index;
+        float start = mValues[index];
+        out[0] = mOffset + (start + fraction * (mValues[index + 1] - start)) * mScale;
+        float startSlope = knotSlope(index);
+        out[1] = startSlope + fraction * (knotSlope(index + 1) - startSlope);
+    }
+
+    /**
+     * 第index个元素处的斜率，见{@link UniformLookupTable}
+     */
+    private float knotSlope(int index) {
+        int low = Math.max(index - 1, 0);
+        int high = Math.min(index + 1, mLastIndex);
+        return (mValues[high] - mValues[low]) * mScale * mLastIndex / (high - low);
+    }
+
+    @Override
+    public int getTableBytes() {
+        return mValues.length * 2;
+    }
+}
@@ -0,0 +1,168 @@
+package com.bruce.bezier.core;
+
+/**
+ * 可重定向的贝塞尔曲线查找策略，用于动画中途改变目标
+ * 手势快速改变方向时，新动画从当前位置出发，起点的斜率必须等于交接时的速度，否则速度突变。
+ * 重定向只沿新的切线方向移动第一个控制点，P1 = (x1, x1 * slope)，其余控制点不变：
+ * X方向控制点不变，曲线仍然单调，查找表的X坐标与查找游标都仍然有效，只需原地重新采样Y坐标。
+ * 第一个控制点在Y轴上(x1 = 0，如ease-out)时起点切线竖直，无法表示有限的斜率，
+ * 首次重定向时把它移到下一个控制点X坐标的中点，并在原缓冲中重新采样X坐标，{@link #reset()}时恢复。
+ * 所有缓冲在构造时分配，之后反复重定向不产生任何内存分配。
+ * 不是线程安全的，重定向与查找应在同一个线程中进行
+ */
+public final class RetargetableLookup implements SizedLookup {
+
+    /**控制点个数 */
+    private final int mCount;
+    /**控制点X坐标，只有第一个控制点在Y轴上时重定向会改变第一个控制点 */
+    private final float[] mXs;
+    /**控制点Y坐标，重定向时只改变第一个控制点 */
+    private final float[] mYs;
+    /**构造时第一个控制点的坐标，用于恢复原曲线 */
+    private final float mBaseX1, mBaseY1;
+    /**X方向幂基系数 */
+    private final double[] mCoefficientsX;
+    /**Y方向幂基系数 */
+    private final double[] mCoefficientsY;
+    /**前向差分表 */
+    private final double[] mDifferences;
+    /**按t等分的点集，X、Y交错存放，X坐标只在第一个控制点的X坐标改变时重新采样 */
+    private final float[] mPoints;
+    /**引用mPoints的查找表，重新采样后直接生效 */
+    private final CursorLookup mLookup;
+
+    /**
+     * @param xs 控制点X坐标，起点为0、终点为1，必须递增
+     * @param ys 控制点Y坐标，起点为0、终点为1
+     */
+    public RetargetableLookup(float[] xs, float[] ys) {
+        if (xs == null || ys == null || xs.length != ys.length || xs.length < 3) {
+            throw new IllegalArgumentException("控制点X、Y坐标个数必须相同，且至少为3个");
+        }
+        int count = xs.length;
+        if (xs[0] != 0 || ys[0] != 0 || xs[count - 1] != 1 || ys[count - 1] != 1) {
+            throw new IllegalArgumentException("控制点起始必须为(0,0)， 终点必须为(1,1)");
+        }
+        for (int i = 1; i < count; i++) {
+            if (xs[i] < xs[i - 1]) {
+                throw new IllegalArgumentException("控制点X坐标必须递增");
+            }
+        }
+        if (xs[2] == 0) {
+            throw new IllegalArgumentException("前三个控制点的X坐标不能都为0，否则无法调整起点斜率");
+        }
+        mCount = count;
+        mXs = xs.clone();
+        mYs = ys.clone();
+        mBaseX1 = xs[1];
+        mBaseY1 = ys[1];
+        mCoefficientsX = new double[count];
+        mCoefficientsY = new double[count];
+        mDifferences = new double[count];
+        mPoints = new float[BezierTables.UNIT_SAMPLE_COUNT * 2];
+        resampleX();
+        resampleY();
+        mLookup = new CursorLookup(new ParametricLookupTable(mPoints));
+    }
+
+    /**
+     * 设置起点的斜率dy/dx并原地重新采样，不产生内存分配
+     * @param slope 起点斜率，必须为有限值
+     */
+    public void setInitialSlope(float slope) {
+        if (Float.isNaN(slope) || Float.isInfinite(slope)) {
+            throw new IllegalArgumentException("斜率必须为有限值：" + slope);
+        }
+        if (mXs[1] == 0) {
+            mXs[1] = mXs[2] / 2;
+            resampleX();
+        }
+        mYs[1] = mXs[1] * slope;
+        resampleY();
+    }
+
+    /**
+     * 起点切线指向第一个与起点不重合的控制点
+     * @return 起点斜率dy/dx，切线竖直时为无穷大
+     */
+    public float getInitialSlope() {
+        for (int i = 1; i < mCount; i++) {
+            float dx = mXs[i] - mXs[0];
+            float dy = mYs[i] - mYs[0];
+            if (dx != 0 || dy != 0) {
+                return dy / dx;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * 恢复构造时的曲线
+     */
+    public void reset() {
+        if (mXs[1] != mBaseX1) {
+            mXs[1] = mBaseX1;
+            resampleX();
+        }
+        mYs[1] = mBaseY1;
+        resampleY();
+    }
+
+    /**
+     * 复制当前的控制点，用于绘制曲线
+     * @param xs 长度不小于控制点个数
+     * @param ys 长度不小于控制点个数
+     */
+    public void getControlPoints(float[] xs, float[] ys) {
+        System.arraycopy(mXs, 0, xs, 0, mCount);
+        System.arraycopy(mYs, 0, ys, 0, mCount);
+    }
+
+    /**
+     * @return 控制点个数
+     */
+    public int getControlPointCount() {
+        return mCount;
+    }
+
+    /**
+     * 按当前的X方向控制点重新采样，Y坐标不变
+     */
+    private void resampleX() {
+        BezierCurve.toPowerBasis(mXs, mCount, mCoefficientsX);
+        BezierCurve.sample(mCoefficientsX, mCount, BezierTables.UNIT_EQUAL_PARTS, mDifferences, mPoints, 0);
+        mPoints[0] = mXs[0];
+        mPoints[BezierTables.UNIT_EQUAL_PARTS * 2] = mXs[mCount - 1];
+    }
+
+    /**
+     * 按当前的Y方向控制点重新采样，X坐标不变
+     */
+    private void resampleY() {
+        BezierCurve.toPowerBasis(mYs, mCount, mCoefficientsY);
+        BezierCurve.sample(mCoefficientsY, mCount, BezierTables.UNIT_EQUAL_PARTS, mDifferences, mPoints, 1);
+        //起点和终点直接取控制点，不受计算误差影响
+        mPoints[1] = mYs[0];
+        mPoints[BezierTables.UNIT_EQUAL_PARTS * 2 + 1] = mYs[mCount - 1];
+    }
+
+    @Override
+    public float getInterpolation(float input) {
+        return mLookup.getInterpolation(input);
+    }
+
+    @Override
+    public void getInterpolation(float[] in, float[] out, int offset, int count) {
+        mLookup.getInterpolation(in, out, offset, count);
+    }
+
+    @Override
+    public void getInterpolationAndVelocity(float input, float[] out) {
+        mLookup.getInterpolationAndVelocity(input, out);
+    }
+
+    @Override
+    public int getTableBytes() {
+        return mPoints.length * 4;
+    }
+}
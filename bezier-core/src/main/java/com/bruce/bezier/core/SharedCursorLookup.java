@@ -0,0 +1,49 @@
+package com.bruce.bezier.core;
+
+/**
+ * 可以在多个线程间共享的{@link CursorLookup}
+ * 每个线程保存自己的游标，不同线程的动画进度互不干扰，也不需要加锁
+ */
+final class SharedCursorLookup implements SizedLookup {
+
+    private final AbstractParametricLookupTable mTable;
+    /**当前线程上一次查找到的区间，数组长度为1，避免Integer装箱 */
+    private final ThreadLocal<int[]> mSegment = new ThreadLocal<int[]>() {
+        @Override
+        protected int[] initialValue() {
+            return new int[1];
+        }
+    };
+
+    SharedCursorLookup(AbstractParametricLookupTable table) {
+        mTable = table;
+    }
+
+    @Override
+    public float getInterpolation(float input) {
+        int[] cursor = mSegment.get();
+        int segment = mTable.findSegment(input, cursor[0]);
+        cursor[0] = segment;
+        return mTable.interpolate(input, segment);
+    }
+
+    @Override
+    public void getInterpolation(float[] in, float[] out, int offset, int count) {
+        int[] cursor = mSegment.get();
+        cursor[0] = mTable.getInterpolation(in, out, offset, count, cursor[0]);
+    }
+
+    @Override
+    public void getInterpolationAndVelocity(float input, float[] out) {
+        int[] cursor = mSegment.get();
+        int segment = mTable.findSegment(input, cursor[0]);
+        cursor[0] = segment;
+        out[0] = mTable.interpolate(input, segment);
+        out[1] = mTable.velocity(input, segment);
+    }
+
+    @Override
+    public int getTableBytes() {
+        return mTable.getTableBytes();
+    }
+}
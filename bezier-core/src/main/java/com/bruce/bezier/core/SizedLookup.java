@@ -0,0 +1,12 @@
+package com.bruce.bezier.core;
+
+/**
+ * 能给出查找表大小的查找策略，包内的查找策略都实现此接口，见{@link BezierLookups#getTableBytes(BezierLookup)}
+ */
+interface SizedLookup extends BezierLookup {
+
+    /**
+     * @return 查找表占用的堆内存字节数，不含对象头；内存映射的查找表为0
+     */
+    int getTableBytes();
+}
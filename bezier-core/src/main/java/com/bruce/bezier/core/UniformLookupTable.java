@@ -0,0 +1,85 @@
+package com.bruce.bezier.core;
+
+/**
+ * X方向等分的查找表
+ * 与PathInterpolator类似，按X坐标直接计算下标后线性插值，每次查找为O(1)
+ */
+final class UniformLookupTable implements SizedLookup {
+
+    /**第i个元素为X坐标等于i / (length - 1)时的Y坐标 */
+    private final float[] mValues;
+    /**最后一个元素的下标，即X方向等分数 */
+    private final int mLastIndex;
+
+    /**
+     * @param values X方向等分的Y坐标查找表
+     */
+    UniformLookupTable(float[] values) {
+        mValues = values;
+        mLastIndex = values.length - 1;
+    }
+
+    @Override
+    public float getInterpolation(float input) {
+        float position = input * mLastIndex;
+        int index = (int) position;
+        if (index >= mLastIndex) {
+            return mValues[mLastIndex];
+        }
+        float fraction = position - index;
+        float startY = mValues[index];
+        return startY + fraction * (mValues[index + 1] - startY);
+    }
+
+    @Override
+    public void getInterpolation(float[] in, float[] out, int offset, int count) {
+        final float[] values = mValues;
+        final int lastIndex = mLastIndex;
+        for (int i = offset, end = offset + count; i < end; i++) {
+            float input = in[i];
+            if (input <= 0) {
+                out[i] = 0;
+                continue;
+            }
+            float position = input * lastIndex;
+            int index = (int) position;
+            if (index >= lastIndex) {
+                out[i] = input >= 1 ? 1 : values[lastIndex];
+                continue;
+            }
+            float fraction = position - index;
+            float startY = values[index];
+            out[i] = startY + fraction * (values[index + 1] - startY);
+        }
+    }
+
+    @Override
+    public void getInterpolationAndVelocity(float input, float[] out) {
+        float position = input * mLastIndex;
+        int index = (int) position;
+        if (index >= mLastIndex) {
+            out[0] = mValues[mLastIndex];
+            out[1] = knotSlope(mLastIndex);
+            return;
+        }
+        float fraction = position - index;
+        float startY = mValues[index];
+        out[0] = startY + fraction * (mValues[index + 1] - startY);
+        float startSlope = knotSlope(index);
+        out[1] = startSlope + fraction * (knotSlope(index + 1) - startSlope);
+    }
+
+    /**
+     * 第index个元素处的斜率：X方向等分，取两侧元素的中心差分，首尾两个元素取单侧差分
+     */
+    private float knotSlope(int index) {
+        int low = Math.max(index - 1, 0);
+        int high = Math.min(index + 1, mLastIndex);
+        return (mValues[high] - mValues[low]) * mLastIndex / (high - low);
+    }
+
+    @Override
+    public int getTableBytes() {
+        return mValues.length * 4;
+    }
+}
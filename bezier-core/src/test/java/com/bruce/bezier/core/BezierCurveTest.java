@@ -0,0 +1,213 @@
+package com.bruce.bezier.core;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 幂基求值与原递归算法的误差，前向差分采样与直接求值的误差，X坐标单调性分析
+ */
+public class BezierCurveTest {
+
+    private static final int CURVES_PER_ORDER = 50;
+    private static final int MAX_ORDER = 10;
+    /**允许的误差：坐标在[-0.5, 1.5]内，2个float ulp */
+    private static final float MAX_ERROR = 2 * Math.ulp(1f);
+    /**与递归算法比较的最高阶数与每阶曲线数，递归算法的耗时随阶数指数增长 */
+    private static final int RECURSIVE_MAX_ORDER = 12;
+    private static final int RECURSIVE_CURVES_PER_ORDER = 10;
+    /**与递归算法比较的允许误差：递归算法在float精度下的舍入误差 */
+    private static final float RECURSIVE_MAX_ERROR = 1e-6f;
+
+    @Test
+    public void matchesRecursiveDeCasteljau() throws Exception {
+        Random random = new Random(1);
+        for (int order = 2; order <= RECURSIVE_MAX_ORDER; order++) {
+            for (int i = 0; i < RECURSIVE_CURVES_PER_ORDER; i++) {
+                float[] xs = new float[order + 1];
+                float[] ys = new float[order + 1];
+                for (int j = 0; j <= order; j++) {
+                    xs[j] = random.nextFloat() * 2 - 0.5f;
+                    ys[j] = random.nextFloat() * 2 - 0.5f;
+                }
+                BezierCurve curve = new BezierCurve(xs, ys);
+                for (int j = 0; j <= BezierTables.UNIT_EQUAL_PARTS; j++) {
+                    float t = (float) j / BezierTables.UNIT_EQUAL_PARTS;
+                    assertEquals("阶数" + order + "，t=" + t, deCasteljau(xs, order, 0, t), curve.getX(t), RECURSIVE_MAX_ERROR);
+                    assertEquals("阶数" + order + "，t=" + t, deCasteljau(ys, order, 0, t), curve.getY(t), RECURSIVE_MAX_ERROR);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void forwardDifferenceMatchesDirectEvaluation() throws Exception {
+        Random random = new Random(5);
+        for (int order = 1; order <= MAX_ORDER; order++) {
+            for (int i = 0; i < CURVES_PER_ORDER; i++) {
+                float[][] controlPoints = TestCurves.randomControlPoints(order, random);
+                BezierCurve curve = new BezierCurve(controlPoints[0], controlPoints[1]);
+                for (int segments : new int[]{1, 7, 100, BezierTables.UNIT_EQUAL_PARTS, 4096}) {
+                    float[] points = new float[(segments + 1) * 2];
+                    curve.sample(segments, points);
+                    for (int j = 1; j < segments; j++) {
+                        double t = (double) j / segments;
+                        float errorX = Math.abs(points[j * 2] - (float) curve.getExactX(t));
+                        float errorY = Math.abs(points[j * 2 + 1] - (float) curve.getExactY(t));
+                        assertTrue("阶数" + order + "，段数" + segments + "，第" + j + "个点",
+                                errorX <= MAX_ERROR && errorY <= MAX_ERROR);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void sampleKeepsEndPoints() throws Exception {
+        float[] xs = {0.1f, 0.3f, 0.7f, 0.9f};
+        float[] ys = {0.2f, 1.4f, -0.3f, 0.8f};
+        float[] points = new float[(BezierTables.UNIT_EQUAL_PARTS + 1) * 2];
+        new BezierCurve(xs, ys).sample(BezierTables.UNIT_EQUAL_PARTS, points);
+        assertEquals(xs[0], points[0], 0);
+        assertEquals(ys[0], points[1], 0);
+        assertEquals(xs[3], points[points.length - 2], 0);
+        assertEquals(ys[3], points[points.length - 1], 0);
+    }
+
+    @Test
+    public void samplerMatchesCurve() throws Exception {
+        Random random = new Random(6);
+        BezierSampler sampler = new BezierSampler(MAX_ORDER + 1, 1000);
+        for (int order = 2; order <= MAX_ORDER; order++) {
+            float[][] controlPoints = TestCurves.randomControlPoints(order, random);
+            int count = sampler.sample(controlPoints[0], controlPoints[1], order + 1, 1e-3f);
+            float[] points = new float[count * 2];
+            new BezierCurve(controlPoints[0], controlPoints[1]).sample(count - 1, points);
+            for (int i = 0; i < points.length; i++) {
+                assertEquals(points[i], sampler.getPoints()[i], 0);
+            }
+        }
+    }
+
+    @Test
+    public void easingCurvesAreMonotone() throws Exception {
+        float[][] curves = {{0.25f, 0.1f, 0.25f, 1f}, {0.42f, 0f, 1f, 1f}, {0f, 0f, 0.58f, 1f}, {0.4f, 0f, 0.2f, 1f}};
+        for (float[] c : curves) {
+            BezierCurve curve = new BezierCurve(new float[]{0, c[0], c[2], 1}, new float[]{0, c[1], c[3], 1});
+            assertTrue(curve.isMonotone());
+            assertEquals(0, curve.getTurningPoints().length);
+        }
+    }
+
+    @Test
+    public void doubleRootIsMonotone() throws Exception {
+        //x(t) = 4(t - 0.5)^3 + 0.5，x'(0.5) = 0但不变号
+        BezierCurve curve = new BezierCurve(new float[]{0, 1, 0, 1}, new float[]{0, 0, 1, 1});
+        assertTrue(curve.isMonotone());
+        assertEquals(0, curve.getTurningPoints().length);
+        assertEquals(0.5, curve.solveT(0.5), 1e-4);
+    }
+
+    @Test
+    public void turningPointsOfOvershootingCurve() throws Exception {
+        BezierCurve curve = new BezierCurve(new float[]{0, 1.5f, -0.5f, 1}, new float[]{0, 0.2f, 0.8f, 1});
+        assertFalse(curve.isMonotone());
+        double[] turningPoints = curve.getTurningPoints();
+        assertEquals(2, turningPoints.length);
+        assertTrue(turningPoints[0] < turningPoints[1]);
+        //折返点处x(t)取极值，两侧的X坐标都不超过极大值
+        double peakX = curve.getExactX(turningPoints[0]);
+        assertTrue(curve.getExactX(turningPoints[0] - 1e-3) < peakX);
+        assertTrue(curve.getExactX(turningPoints[0] + 1e-3) < peakX);
+    }
+
+    @Test
+    public void solveFirstAndLastBranches() throws Exception {
+        Random random = new Random(8);
+        int nonMonotoneCount = 0;
+        for (int order = 2; order <= MAX_ORDER; order++) {
+            for (int i = 0; i < CURVES_PER_ORDER; i++) {
+                float[][] points = TestCurves.randomUnitCurve(order, random);
+                BezierCurve curve = new BezierCurve(points[0], points[1]);
+                if (curve.isMonotone()) {
+                    continue;
+                }
+                nonMonotoneCount++;
+                for (int j = 1; j < 100; j++) {
+                    double x = j / 100.0;
+                    double first = curve.solveT(x, false);
+                    double last = curve.solveT(x, true);
+                    assertEquals(x, curve.getExactX(first), 1e-9);
+                    assertEquals(x, curve.getExactX(last), 1e-9);
+                    assertTrue(first <= last);
+                    //t最小的解之前X坐标都小于x，t最大的解之后都大于x
+                    for (int k = 0; k < 100; k++) {
+                        assertTrue(curve.getExactX(first * k / 100) < x + 1e-9);
+                        assertTrue(curve.getExactX(last + (1 - last) * (k + 1) / 100) > x - 1e-9);
+                    }
+                }
+            }
+        }
+        assertTrue(nonMonotoneCount > 0);
+    }
+
+    @Test
+    public void staticMonotoneMatchesCurve() throws Exception {
+        Random random = new Random(10);
+        //缓冲按最高阶分配，低阶曲线只使用前count个控制点
+        float[] xs = new float[MAX_ORDER + 1];
+        double[] work = new double[(MAX_ORDER + 1) * (MAX_ORDER + 1)];
+        for (int order = 1; order <= MAX_ORDER; order++) {
+            for (int i = 0; i < CURVES_PER_ORDER; i++) {
+                float[][] points = TestCurves.randomUnitCurve(order, random);
+                System.arraycopy(points[0], 0, xs, 0, order + 1);
+                boolean expected = new BezierCurve(points[0], points[1]).isMonotone();
+                assertEquals("阶数" + order, expected, BezierCurve.isMonotone(xs, order + 1, work));
+            }
+        }
+    }
+
+    @Test
+    public void monotoneHullIsMonotone() throws Exception {
+        Random random = new Random(9);
+        for (int order = 2; order <= MAX_ORDER; order++) {
+            for (int i = 0; i < CURVES_PER_ORDER; i++) {
+                float[][] points = TestCurves.randomUnitCurve(order, random);
+                float[] hull = BezierCurve.toMonotoneHull(points[0]);
+                assertEquals(0, hull[0], 0);
+                assertEquals(1, hull[order], 0);
+                for (int j = 1; j <= order; j++) {
+                    assertTrue(hull[j] >= hull[j - 1]);
+                }
+                assertTrue(new BezierCurve(hull, points[1]).isMonotone());
+                //原地计算的结果相同
+                float[] inPlace = points[0].clone();
+                BezierCurve.toMonotoneHull(inPlace, inPlace.length, inPlace, new double[inPlace.length], new int[inPlace.length]);
+                assertTrue(Arrays.equals(hull, inPlace));
+            }
+        }
+        //控制点已经单调时不变
+        float[] sorted = {0, 0.2f, 0.5f, 0.9f, 1};
+        assertTrue(Arrays.equals(sorted, BezierCurve.toMonotoneHull(sorted)));
+    }
+
+    /**
+     * 原BezierUtils中的递归算法
+     * @param points 单个方向的控制点坐标
+     * @param order 阶数
+     * @param index 控制点的下标
+     * @param t 时间
+     * @return 曲线在t时间上点的坐标
+     */
+    private static float deCasteljau(float[] points, int order, int index, float t) {
+        if (order == 1) {
+            return (1 - t) * points[index] + t * points[index + 1];
+        }
+        return (1 - t) * deCasteljau(points, order - 1, index, t) + t * deCasteljau(points, order - 1, index + 1, t);
+    }
+}
@@ -0,0 +1,179 @@
+package com.bruce.bezier.core;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 各查找策略相对于精确曲线的误差
+ * 精确值为double精度下求解x(t) = input，见{@link BezierError}
+ */
+public class BezierLookupAccuracyTest {
+
+    /**CSS和Material Design中常用的三阶曲线，依次为x1, y1, x2, y2 */
+    private static final float[][] EASING_CURVES = {
+            {0.25f, 0.1f, 0.25f, 1f},
+            {0.42f, 0f, 1f, 1f},
+            {0f, 0f, 0.58f, 1f},
+            {0.42f, 0f, 0.58f, 1f},
+            {0.4f, 0f, 0.2f, 1f},
+    };
+
+    private static final int CURVES_PER_ORDER = 20;
+    private static final int MAX_ORDER = 8;
+
+    @Test
+    public void referenceMatchesLinearCurve() throws Exception {
+        //控制点在对角线上等距分布时x(t) = t，y(t) = t
+        BezierCurve curve = new BezierCurve(new float[]{0, 1f / 3, 2f / 3, 1}, new float[]{0, 1f / 3, 2f / 3, 1});
+        for (int i = 0; i <= 100; i++) {
+            double x = i / 100.0;
+            assertEquals(x, curve.getExactY(curve.solveT(x)), 1e-6);
+        }
+    }
+
+    @Test
+    public void parametricTableOnRandomCurves() throws Exception {
+        assertRandomCurves(BezierLookups.LOOKUP_PARAMETRIC, 0, 0, 5e-4f);
+    }
+
+    @Test
+    public void adaptiveTableMeetsTolerance() throws Exception {
+        for (float tolerance : new float[]{1e-3f, 1e-4f, 1e-5f}) {
+            assertRandomCurves(BezierLookups.LOOKUP_ADAPTIVE, 0, tolerance, tolerance);
+        }
+    }
+
+    @Test
+    public void analyticSolverOnRandomCubics() throws Exception {
+        //float精度下求解x(t)的误差乘以斜率dy/dx，接近竖直的曲线误差会被放大
+        Random random = new Random(3);
+        for (int i = 0; i < 200; i++) {
+            float[][] points = TestCurves.randomControlPoints(3, random);
+            assertMaxError(points, BezierLookups.LOOKUP_ANALYTIC, 0, 0, 1e-4f);
+        }
+    }
+
+    @Test
+    public void analyticSolverOnEasingCurves() throws Exception {
+        for (float[] easing : EASING_CURVES) {
+            float[][] points = {{0, easing[0], easing[2], 1}, {0, easing[1], easing[3], 1}};
+            assertMaxError(points, BezierLookups.LOOKUP_ANALYTIC, 0, 0, 1e-5f);
+        }
+    }
+
+    @Test
+    public void uniformTablesOnEasingCurves() throws Exception {
+        for (float[] easing : EASING_CURVES) {
+            float[][] points = {{0, easing[0], easing[2], 1}, {0, easing[1], easing[3], 1}};
+            assertMaxError(points, BezierLookups.LOOKUP_UNIFORM, BezierLookups.DEFAULT_UNIFORM_TABLE_SIZE, 0, 1e-4f);
+            assertMaxError(points, BezierLookups.LOOKUP_UNIFORM_FIXED16, BezierLookups.DEFAULT_UNIFORM_TABLE_SIZE, 0, 1e-4f);
+        }
+    }
+
+    @Test
+    public void quantizationAddsAtMostOneStep() throws Exception {
+        Random random = new Random(4);
+        for (int i = 0; i < 50; i++) {
+            float[][] points = TestCurves.randomControlPoints(2 + i % 6, random);
+            BezierCurve curve = new BezierCurve(points[0], points[1]);
+            float[] values = BezierTables.buildUniformTable(curve, 257);
+            float min = values[0];
+            float max = values[0];
+            for (float value : values) {
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+            }
+            BezierLookup uniform = BezierLookups.create(points[0], points[1], BezierLookups.LOOKUP_UNIFORM, 257, 0);
+            BezierLookup fixed16 = BezierLookups.create(points[0], points[1], BezierLookups.LOOKUP_UNIFORM_FIXED16, 257, 0);
+            for (int j = 1; j < 1000; j++) {
+                float input = j / 1000f;
+                assertEquals(uniform.getInterpolation(input), fixed16.getInterpolation(input), (max - min) / 65535 + 1e-6f);
+            }
+        }
+    }
+
+    @Test
+    public void rmsErrorNotAboveMaxError() throws Exception {
+        Random random = new Random(5);
+        float[][] points = TestCurves.randomControlPoints(5, random);
+        BezierError error = BezierError.measure(new BezierCurve(points[0], points[1]),
+                BezierLookups.create(points[0], points[1], BezierLookups.LOOKUP_PARAMETRIC, 0, 0),
+                BezierError.DEFAULT_PROBE_COUNT);
+        assertTrue(error.getRmsError() <= error.getMaxError());
+        assertTrue(error.getMaxErrorInput() > 0 && error.getMaxErrorInput() < 1);
+    }
+
+    @Test
+    public void velocityMatchesCurveSlope() throws Exception {
+        for (float[] easing : EASING_CURVES) {
+            float[][] points = {{0, easing[0], easing[2], 1}, {0, easing[1], easing[3], 1}};
+            assertVelocity(points, BezierLookups.create(points[0], points[1], BezierLookups.LOOKUP_PARAMETRIC, 0, 0), 2e-4f);
+            assertVelocity(points, BezierLookups.withSearchHint(BezierLookups.create(points[0], points[1],
+                    BezierLookups.LOOKUP_PARAMETRIC, 0, 0), BezierLookups.SEARCH_HINT_CURSOR), 2e-4f);
+            assertVelocity(points, BezierLookups.create(points[0], points[1], BezierLookups.LOOKUP_ANALYTIC, 0, 0), 1e-5f);
+            assertVelocity(points, BezierLookups.create(points[0], points[1], BezierLookups.LOOKUP_UNIFORM,
+                    BezierLookups.DEFAULT_UNIFORM_TABLE_SIZE, 0), 2e-3f);
+            assertVelocity(points, BezierLookups.create(points[0], points[1], BezierLookups.LOOKUP_UNIFORM_FIXED16,
+                    BezierLookups.DEFAULT_UNIFORM_TABLE_SIZE, 0), 5e-3f);
+            assertVelocity(points, BezierLookups.create(points[0], points[1], BezierLookups.LOOKUP_ADAPTIVE, 0, 1e-4f), 1e-2f);
+        }
+    }
+
+    @Test
+    public void splineVelocityIsContinuous() throws Exception {
+        //C1连续的样条在连接点两侧斜率相同
+        float[] xs = {0, 0.1f, 0.3f, 0.4f, 0.6f, 0.9f, 1};
+        float[] ys = {0, 0.4f, 0.5f, 0.6f, 0.7f, 1.2f, 1};
+        BezierSpline spline = new BezierSpline(xs, ys, BezierSpline.CONTINUITY_C1);
+        float[] out = new float[2];
+        float[] previous = new float[2];
+        spline.getInterpolationAndVelocity(0, previous);
+        for (int i = 1; i <= 1000; i++) {
+            float input = i / 1000f;
+            spline.getInterpolationAndVelocity(input, out);
+            assertEquals(spline.getInterpolation(input), out[0], 0);
+            //中心差分近似斜率
+            assertEquals((out[0] - previous[0]) * 1000, (out[1] + previous[1]) / 2, 2e-2f);
+            previous[0] = out[0];
+            previous[1] = out[1];
+        }
+    }
+
+    /**
+     * 斜率的相对误差不超过maxError，斜率小于1时按绝对误差计
+     * 两端附近x'(t)可能接近0，斜率趋于无穷，不做比较
+     */
+    private static void assertVelocity(float[][] points, BezierLookup lookup, float maxError) {
+        BezierCurve curve = new BezierCurve(points[0], points[1]);
+        float[] out = new float[2];
+        for (int i = 20; i <= 980; i++) {
+            float input = i / 1000f;
+            lookup.getInterpolationAndVelocity(input, out);
+            assertEquals(lookup.getInterpolation(input), out[0], 0);
+            double slope = curve.getExactSlope(curve.solveT(input));
+            assertTrue("控制点X" + Arrays.toString(points[0]) + "，Y" + Arrays.toString(points[1]) + "，输入" + input
+                    + "：斜率" + out[1] + "，精确值" + slope, Math.abs(out[1] - slope) <= maxError * Math.max(1, Math.abs(slope)));
+        }
+    }
+
+    private static void assertRandomCurves(int lookupMode, int tableSize, float tolerance, float maxError) {
+        Random random = new Random(lookupMode);
+        for (int order = 2; order <= MAX_ORDER; order++) {
+            for (int i = 0; i < CURVES_PER_ORDER; i++) {
+                assertMaxError(TestCurves.randomControlPoints(order, random), lookupMode, tableSize, tolerance, maxError);
+            }
+        }
+    }
+
+    private static void assertMaxError(float[][] points, int lookupMode, int tableSize, float tolerance, float maxError) {
+        BezierLookup lookup = BezierLookups.create(points[0], points[1], lookupMode, tableSize, tolerance);
+        BezierError error = BezierError.measure(new BezierCurve(points[0], points[1]), lookup, BezierError.DEFAULT_PROBE_COUNT);
+        assertTrue("查找方式" + lookupMode + "，控制点X" + Arrays.toString(points[0]) + "，Y" + Arrays.toString(points[1]) + "：" + error,
+                error.getMaxError() <= maxError);
+    }
+}
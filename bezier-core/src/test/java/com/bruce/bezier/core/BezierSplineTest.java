@@ -0,0 +1,198 @@
+package com.bruce.bezier.core;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * 分段三阶曲线：段的定位、与各段精确曲线的误差、斜率连续与参数检查
+ */
+public class BezierSplineTest {
+
+    /**允许的误差：各段单独解析求解，与单条三阶曲线的精度相同 */
+    private static final float MAX_ERROR = 2e-6f;
+    private static final int PROBE_COUNT = 10000;
+    /**差商估计斜率的步长与允许的误差，步长内曲率带来的误差约为步长乘以二阶导数 */
+    private static final float SLOPE_STEP = 1e-3f;
+    private static final float SLOPE_ERROR = 5e-2f;
+
+    @Test
+    public void knotsSelectFollowingSegment() throws Exception {
+        float[] xs = {0, 0.1f, 0.2f, 0.3f, 0.35f, 0.5f, 0.55f, 0.7f, 0.9f, 1};
+        float[] ys = {0, 0.6f, 1.3f, 1.15f, 1.1f, 0.9f, 0.95f, 1f, 1.05f, 1};
+        BezierSpline spline = new BezierSpline(xs, ys, BezierSpline.CONTINUITY_C0);
+        assertEquals(3, spline.getSegmentCount());
+        for (int knot = 3; knot < xs.length - 1; knot += 3) {
+            //连接点属于后一段，局部坐标为0，结果就是连接点的Y坐标
+            assertEquals(ys[knot], spline.getInterpolation(xs[knot]), 0);
+            float before = Math.nextAfter(xs[knot], 0);
+            assertEquals(ys[knot], spline.getInterpolation(before), MAX_ERROR);
+        }
+        assertMatchesSegments(xs, ys, spline);
+    }
+
+    @Test
+    public void matchesExactSegments() throws Exception {
+        Random random = new Random(12);
+        for (int segmentCount = 1; segmentCount <= 8; segmentCount++) {
+            for (int i = 0; i < 10; i++) {
+                float[][] points = randomSpline(segmentCount, random);
+                assertMatchesSegments(points[0], points[1],
+                        new BezierSpline(points[0], points[1], BezierSpline.CONTINUITY_C0));
+            }
+        }
+    }
+
+    @Test
+    public void narrowSegments() throws Exception {
+        //多个窄段挤在一格之内：宽度大于1 / 1024时每格最多一个连接点，窄于此时逐段向后查找
+        for (float width : new float[]{2e-3f, 1e-4f, 1e-5f}) {
+            int narrowCount = 20;
+            float[] knots = new float[narrowCount + 2];
+            for (int i = 1; i <= narrowCount; i++) {
+                knots[i] = 0.5f + i * width;
+            }
+            knots[narrowCount + 1] = 1;
+            float[][] points = splineThrough(knots, new Random(13));
+            BezierSpline spline = new BezierSpline(points[0], points[1], BezierSpline.CONTINUITY_C0);
+            assertMatchesSegments(points[0], points[1], spline);
+            //窄段内部逐点比较
+            for (int i = 1; i < narrowCount; i++) {
+                for (int j = 0; j <= 10; j++) {
+                    float x = knots[i] + (knots[i + 1] - knots[i]) * j / 10;
+                    assertEquals("宽度" + width + "，第" + i + "段", exactY(points[0], points[1], x), spline.getInterpolation(x), MAX_ERROR);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void c1AlignsHandles() throws Exception {
+        float[] xs = {0, 0.1f, 0.2f, 0.3f, 0.35f, 0.5f, 0.55f, 0.7f, 0.9f, 1};
+        float[] ys = {0, 0.6f, 1.3f, 1.15f, 1.1f, 0.9f, 0.95f, 1f, 1.05f, 1};
+        BezierSpline c0 = new BezierSpline(xs, ys, BezierSpline.CONTINUITY_C0);
+        BezierSpline c1 = new BezierSpline(xs, ys, BezierSpline.CONTINUITY_C1);
+        for (int knot = 3; knot < xs.length - 1; knot += 3) {
+            //连接点后一个控制点不变，C0、C1时后一段的起点斜率都等于该控制点与连接点连线的斜率
+            float x = xs[knot];
+            float expectedSlope = (ys[knot + 1] - ys[knot]) / (xs[knot + 1] - xs[knot]);
+            float tolerance = SLOPE_ERROR * Math.max(1, Math.abs(expectedSlope));
+            assertEquals(expectedSlope, (c0.getInterpolation(x + SLOPE_STEP) - c0.getInterpolation(x)) / SLOPE_STEP, tolerance);
+            assertEquals(expectedSlope, (c1.getInterpolation(x + SLOPE_STEP) - c1.getInterpolation(x)) / SLOPE_STEP, tolerance);
+            //前一段在连接点处的斜率与后一段相同，C0时不同
+            assertEquals(expectedSlope, (c1.getInterpolation(x) - c1.getInterpolation(x - SLOPE_STEP)) / SLOPE_STEP, tolerance);
+            float c0Left = (c0.getInterpolation(x) - c0.getInterpolation(x - SLOPE_STEP)) / SLOPE_STEP;
+            assertTrue(Math.abs(c0Left - expectedSlope) > 0.1f);
+        }
+    }
+
+    @Test
+    public void rejectInvalidControlPoints() throws Exception {
+        float[][][] invalid = {
+                //个数不是3n + 1
+                {{0, 0.5f, 1}, {0, 0.5f, 1}},
+                {{0, 0.2f, 0.4f, 0.6f, 1}, {0, 0.2f, 0.4f, 0.6f, 1}},
+                //起点、终点
+                {{0, 0.2f, 0.4f, 0.9f}, {0, 0.2f, 0.4f, 1}},
+                {{0.1f, 0.2f, 0.4f, 1}, {0, 0.2f, 0.4f, 1}},
+                //连接点X坐标不严格递增
+                {{0, 0.2f, 0.4f, 0.5f, 0.5f, 0.5f, 0.5f, 0.8f, 0.9f, 1}, {0, 0, 0, 0.5f, 0.5f, 0.5f, 0.5f, 1, 1, 1}},
+                //控制点X坐标超出该段
+                {{0, 0.2f, 0.6f, 0.5f, 0.6f, 0.8f, 1}, {0, 0, 1, 0.5f, 0.6f, 0.8f, 1}},
+                {{0, -0.1f, 0.4f, 1}, {0, 0, 1, 1}},
+        };
+        for (float[][] points : invalid) {
+            assertRejected(points, BezierSpline.CONTINUITY_C0);
+        }
+        //斜率连续要求连接点两侧的控制点X坐标与连接点不同
+        assertRejected(new float[][]{{0, 0.2f, 0.5f, 0.5f, 0.6f, 0.8f, 1}, {0, 0, 0.4f, 0.5f, 0.6f, 0.8f, 1}},
+                BezierSpline.CONTINUITY_C1);
+        assertRejected(new float[][]{{0, 0.2f, 0.4f, 1}, {0, 0, 1, 1}}, 2);
+    }
+
+    @Test
+    public void tableBytesIncludeSegments() throws Exception {
+        float[][] points = randomSpline(4, new Random(14));
+        BezierSpline spline = new BezierSpline(points[0], points[1], BezierSpline.CONTINUITY_C0);
+        BezierLookup solver = BezierLookups.create(new float[]{0, 0.42f, 0.58f, 1}, new float[]{0, 0, 1, 1},
+                BezierLookups.LOOKUP_ANALYTIC, 0, 0);
+        //每段一个解析求解的初值估计表，另加各段起点、缩放与分段索引
+        assertTrue(BezierLookups.getTableBytes(spline) > 4 * BezierLookups.getTableBytes(solver));
+    }
+
+    private static void assertRejected(float[][] points, int continuity) {
+        try {
+            new BezierSpline(points[0], points[1], continuity);
+            fail("控制点X" + Arrays.toString(points[0]) + "，Y" + Arrays.toString(points[1]) + "，连续性" + continuity);
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    /**
+     * 在(0,1)上均匀取点，与精确的各段曲线比较
+     */
+    private static void assertMatchesSegments(float[] xs, float[] ys, BezierSpline spline) {
+        for (int i = 1; i < PROBE_COUNT; i++) {
+            float x = (float) i / PROBE_COUNT;
+            assertEquals("控制点X" + Arrays.toString(xs) + "，输入" + x, exactY(xs, ys, x), spline.getInterpolation(x), MAX_ERROR);
+        }
+    }
+
+    /**
+     * double精度下求解x所在段的x(t) = x，连接点属于后一段
+     */
+    private static double exactY(float[] xs, float[] ys, float x) {
+        int start = 0;
+        while (start + 3 < xs.length - 1 && x >= xs[start + 3]) {
+            start += 3;
+        }
+        BezierCurve curve = new BezierCurve(Arrays.copyOfRange(xs, start, start + 4), Arrays.copyOfRange(ys, start, start + 4));
+        return curve.getExactY(curve.solveT(x));
+    }
+
+    /**
+     * 随机生成连接点，再经过这些连接点生成控制点
+     */
+    private static float[][] randomSpline(int segmentCount, Random random) {
+        float[] knots = new float[segmentCount + 1];
+        for (int i = 1; i < segmentCount; i++) {
+            knots[i] = random.nextFloat();
+        }
+        knots[segmentCount] = 1;
+        Arrays.sort(knots);
+        for (int i = 1; i <= segmentCount; i++) {
+            if (!(knots[i] > knots[i - 1])) {
+                return randomSpline(segmentCount, random);
+            }
+        }
+        return splineThrough(knots, random);
+    }
+
+    /**
+     * 经过指定X坐标连接点的样条，连接点与控制点的Y坐标随机，控制点X坐标在各段之内
+     * 控制点不靠近段的两端，避免斜率过大放大求解误差
+     */
+    private static float[][] splineThrough(float[] knots, Random random) {
+        int segmentCount = knots.length - 1;
+        float[] xs = new float[segmentCount * 3 + 1];
+        float[] ys = new float[segmentCount * 3 + 1];
+        for (int i = 0; i < segmentCount; i++) {
+            float startX = knots[i];
+            float width = knots[i + 1] - startX;
+            xs[i * 3] = startX;
+            xs[i * 3 + 1] = startX + width * (0.2f + random.nextFloat() * 0.3f);
+            xs[i * 3 + 2] = startX + width * (0.5f + random.nextFloat() * 0.3f);
+            ys[i * 3] = i == 0 ? 0 : random.nextFloat();
+            ys[i * 3 + 1] = random.nextFloat();
+            ys[i * 3 + 2] = random.nextFloat();
+        }
+        xs[segmentCount * 3] = 1;
+        ys[segmentCount * 3] = 1;
+        return new float[][]{xs, ys};
+    }
+}
@@ -0,0 +1,62 @@
+package com.bruce.bezier.core;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 从表文件读取的查找策略与堆内创建的查找策略结果完全相同
+ */
+public class BezierTableFileTest {
+
+    private static final float[] XS = {0, 0.1f, 0.42f, 0.58f, 1};
+    private static final float[] YS = {0, 0, 1.3f, 1, 1};
+    private static final int[] LOOKUP_MODES = {
+            BezierLookups.LOOKUP_PARAMETRIC, BezierLookups.LOOKUP_ADAPTIVE, BezierLookups.LOOKUP_UNIFORM};
+    private static final int INPUT_COUNT = 2000;
+
+    @Test
+    public void matchesHeapLookups() throws Exception {
+        BezierTableWriter writer = new BezierTableWriter();
+        for (int lookupMode : LOOKUP_MODES) {
+            writer.add("mode" + lookupMode, XS, YS, lookupMode, BezierLookups.DEFAULT_UNIFORM_TABLE_SIZE, BezierLookups.DEFAULT_TOLERANCE);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.writeTo(out);
+        BezierTableFile file = BezierTableFile.read(ByteBuffer.wrap(out.toByteArray()));
+
+        //升序输入模拟动画，随机输入覆盖游标不命中的情况
+        float[] ascending = new float[INPUT_COUNT];
+        float[] shuffled = new float[INPUT_COUNT];
+        Random random = new Random(15);
+        for (int i = 0; i < INPUT_COUNT; i++) {
+            ascending[i] = (float) i / (INPUT_COUNT - 1);
+            shuffled[i] = random.nextFloat();
+        }
+        for (int lookupMode : LOOKUP_MODES) {
+            BezierLookup expected = BezierLookups.create(XS, YS, lookupMode,
+                    BezierLookups.DEFAULT_UNIFORM_TABLE_SIZE, BezierLookups.DEFAULT_TOLERANCE);
+            BezierLookup actual = file.get("mode" + lookupMode).getLookup();
+            for (float[] inputs : new float[][]{ascending, shuffled}) {
+                assertSameResults(lookupMode, expected, actual, inputs);
+                assertSameResults(lookupMode, expected,
+                        BezierLookups.withSearchHint(actual, BezierLookups.SEARCH_HINT_CURSOR), inputs);
+            }
+        }
+    }
+
+    private static void assertSameResults(int lookupMode, BezierLookup expected, BezierLookup actual, float[] inputs) {
+        float[] expectedBatch = new float[inputs.length];
+        float[] actualBatch = new float[inputs.length];
+        expected.getInterpolation(inputs, expectedBatch, 0, inputs.length);
+        actual.getInterpolation(inputs, actualBatch, 0, inputs.length);
+        for (int i = 0; i < inputs.length; i++) {
+            assertEquals("查找方式" + lookupMode + "，输入" + inputs[i], expected.getInterpolation(inputs[i]), actual.getInterpolation(inputs[i]), 0);
+            assertEquals("查找方式" + lookupMode + "，批量输入" + inputs[i], expectedBatch[i], actualBatch[i], 0);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.bruce.bezier.core;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * X坐标不单调的曲线按单调性处理方式创建的查找策略
+ * 精确值为double精度下求解x(t) = input，取指定一支的解
+ */
+public class MonotoneCurveTest {
+
+    /**X坐标折返的三阶曲线 */
+    private static final float[] OVERSHOOT_XS = {0, 1.5f, -0.5f, 1};
+    private static final float[] OVERSHOOT_YS = {0, 0.2f, 0.8f, 1};
+
+    private static final int CURVES_PER_ORDER = 20;
+    private static final int MAX_ORDER = 8;
+
+    @Test
+    public void rejectNonMonotoneCurve() throws Exception {
+        try {
+            BezierLookups.create(OVERSHOOT_XS, OVERSHOOT_YS, BezierLookups.LOOKUP_PARAMETRIC, 0, 0, BezierLookups.MONOTONE_REJECT);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            BezierLookups.create(OVERSHOOT_XS, OVERSHOOT_YS, BezierLookups.LOOKUP_ANALYTIC, 0, 0, BezierLookups.MONOTONE_FIRST);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    @Test
+    public void clampedCurvesOnAllModes() throws Exception {
+        Random random = new Random(10);
+        for (int order = 2; order <= MAX_ORDER; order++) {
+            for (int i = 0; i < CURVES_PER_ORDER; i++) {
+                float[][] points = TestCurves.randomNonMonotoneControlPoints(order, random);
+                assertClamped(points, BezierLookups.LOOKUP_PARAMETRIC, 0, 0, 5e-4f);
+                assertClamped(points, BezierLookups.LOOKUP_ADAPTIVE, 0, 1e-4f, 1e-4f);
+            }
+        }
+        float[][] cubic = {OVERSHOOT_XS, OVERSHOOT_YS};
+        assertClamped(cubic, BezierLookups.LOOKUP_ANALYTIC, 0, 0, 1e-4f);
+    }
+
+    @Test
+    public void firstAndLastBranches() throws Exception {
+        Random random = new Random(11);
+        for (int order = 2; order <= MAX_ORDER; order++) {
+            for (int i = 0; i < CURVES_PER_ORDER; i++) {
+                float[][] points = TestCurves.randomNonMonotoneControlPoints(order, random);
+                for (int policy : new int[]{BezierLookups.MONOTONE_FIRST, BezierLookups.MONOTONE_LAST}) {
+                    assertBranch(points, policy, BezierLookups.LOOKUP_PARAMETRIC, 0, 0, 1024, 5e-4f);
+                    assertBranch(points, policy, BezierLookups.LOOKUP_ADAPTIVE, 0, 1e-4f, 1024, 1e-4f);
+                    //X方向等分的查找表在跳变处线性插值，只在表格点上比较
+                    assertBranch(points, policy, BezierLookups.LOOKUP_UNIFORM, 257, 0, 256, 1e-6f);
+                }
+            }
+        }
+    }
+
+    private static void assertClamped(float[][] points, int lookupMode, int tableSize, float tolerance, float maxError) {
+        BezierLookup lookup = BezierLookups.create(points[0], points[1], lookupMode, tableSize, tolerance, BezierLookups.MONOTONE_CLAMP);
+        float error = BezierLookups.measureMaxError(points[0], points[1], BezierLookups.MONOTONE_CLAMP, lookup);
+        assertTrue("查找方式" + lookupMode + "，控制点X" + Arrays.toString(points[0]) + "：" + error, error <= maxError);
+    }
+
+    /**
+     * 与指定一支的精确解比较，跳过折返处和端点X坐标附近查找结果跳变的区域
+     */
+    private static void assertBranch(float[][] points, int policy, int lookupMode, int tableSize, float tolerance,
+                                     int probeCount, float maxError) {
+        BezierCurve curve = new BezierCurve(points[0], points[1]);
+        BezierLookup lookup = BezierLookups.create(points[0], points[1], lookupMode, tableSize, tolerance, policy);
+        double[] turningPoints = curve.getTurningPoints();
+        boolean last = policy == BezierLookups.MONOTONE_LAST;
+        for (int i = 1; i < probeCount; i++) {
+            float input = (float) i / probeCount;
+            boolean nearJump = input < 0.01 || input > 0.99;
+            for (double t : turningPoints) {
+                nearJump |= Math.abs(curve.getExactX(t) - input) < 0.01;
+            }
+            if (nearJump) {
+                continue;
+            }
+            double error = Math.abs(lookup.getInterpolation(input) - curve.getExactY(curve.solveT(input, last)));
+            assertTrue("方式" + policy + "，查找方式" + lookupMode + "，控制点X" + Arrays.toString(points[0])
+                    + "，Y" + Arrays.toString(points[1]) + "，x=" + input + "：" + error, error <= maxError);
+        }
+    }
+}
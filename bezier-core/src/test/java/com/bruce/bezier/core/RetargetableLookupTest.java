@@ -0,0 +1,147 @@
+package com.bruce.bezier.core;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * 重定向后的查找结果与重新创建的查找表一致，起点斜率等于设置值
+ */
+public class RetargetableLookupTest {
+
+    private static final float[] SLOPES = {0, 0.5f, 1, 3, -2, 12};
+    private static final int MAX_ORDER = 8;
+
+    @Test
+    public void matchesFreshTable() throws Exception {
+        Random random = new Random(11);
+        for (int order = 2; order <= MAX_ORDER; order++) {
+            float[][] points = TestCurves.randomControlPoints(order, random);
+            RetargetableLookup lookup = new RetargetableLookup(points[0], points[1]);
+            assertSameAsFreshTable(lookup);
+            for (float slope : SLOPES) {
+                lookup.setInitialSlope(slope);
+                assertEquals(slope, lookup.getInitialSlope(), 1e-6f * Math.max(1, Math.abs(slope)));
+                assertSameAsFreshTable(lookup);
+            }
+        }
+    }
+
+    @Test
+    public void initialSlopeIsExact() throws Exception {
+        RetargetableLookup lookup = new RetargetableLookup(new float[]{0, 0.25f, 0.25f, 1}, new float[]{0, 0.1f, 1, 1});
+        int count = lookup.getControlPointCount();
+        float[] xs = new float[count];
+        float[] ys = new float[count];
+        float[] out = new float[2];
+        for (float slope : SLOPES) {
+            lookup.setInitialSlope(slope);
+            lookup.getControlPoints(xs, ys);
+            assertEquals(slope, new BezierCurve(xs, ys).getExactSlope(0), 1e-6 * Math.max(1, Math.abs(slope)));
+            //查找表在起点处取第一段弦的斜率
+            lookup.getInterpolationAndVelocity(0, out);
+            assertEquals(0, out[0], 0);
+            assertEquals(slope, out[1], 2e-2f * Math.max(1, Math.abs(slope)));
+        }
+    }
+
+    @Test
+    public void resetRestoresCurve() throws Exception {
+        float[] xs = {0, 0.42f, 0.58f, 1};
+        float[] ys = {0, 0, 1, 1};
+        RetargetableLookup lookup = new RetargetableLookup(xs, ys);
+        BezierLookup table = BezierLookups.create(xs, ys, BezierLookups.LOOKUP_PARAMETRIC, 0, 0);
+        lookup.setInitialSlope(4);
+        lookup.reset();
+        for (int i = 0; i <= 1000; i++) {
+            float input = i / 1000f;
+            assertEquals(table.getInterpolation(input), lookup.getInterpolation(input), 0);
+        }
+    }
+
+    @Test
+    public void firstControlPointOnYAxis() throws Exception {
+        //ease-out曲线的第一个控制点在Y轴上，构造时不改变曲线
+        float[] easeOutXs = {0, 0, 0.58f, 1};
+        float[] easeOutYs = {0, 0, 1, 1};
+        RetargetableLookup lookup = new RetargetableLookup(easeOutXs, easeOutYs);
+        BezierLookup table = BezierLookups.create(easeOutXs, easeOutYs, BezierLookups.LOOKUP_PARAMETRIC, 0, 0);
+        float[] xs = new float[4];
+        float[] ys = new float[4];
+        lookup.getControlPoints(xs, ys);
+        assertTrue(Arrays.equals(easeOutXs, xs));
+        assertTrue(Arrays.equals(easeOutYs, ys));
+        assertEquals(1f / 0.58f, lookup.getInitialSlope(), 1e-6f);
+        assertSameAsFreshTable(lookup);
+        for (int i = 0; i <= 1000; i++) {
+            float input = i / 1000f;
+            assertEquals(table.getInterpolation(input), lookup.getInterpolation(input), 0);
+        }
+
+        //首次重定向时移到与下一个控制点X坐标的中点
+        lookup.setInitialSlope(2);
+        lookup.getControlPoints(xs, ys);
+        assertEquals(0.29f, xs[1], 0);
+        assertEquals(0.58f, ys[1], 1e-6f);
+        assertTrue(new BezierCurve(xs, ys).isMonotone());
+        assertSameAsFreshTable(lookup);
+
+        //恢复为传入的曲线
+        lookup.reset();
+        lookup.getControlPoints(xs, ys);
+        assertTrue(Arrays.equals(easeOutXs, xs));
+        assertTrue(Arrays.equals(easeOutYs, ys));
+        for (int i = 0; i <= 1000; i++) {
+            float input = i / 1000f;
+            assertEquals(table.getInterpolation(input), lookup.getInterpolation(input), 0);
+        }
+    }
+
+    @Test
+    public void rejectInvalidControlPoints() throws Exception {
+        float[][][] invalid = {
+                {{0, 1}, {0, 1}},
+                {{0, 0.6f, 0.4f, 1}, {0, 0, 1, 1}},
+                {{0, 0.4f, 0.6f, 1}, {0, 0, 1, 0.5f}},
+                {{0, 0, 0, 1}, {0, 0, 1, 1}},
+        };
+        for (float[][] points : invalid) {
+            try {
+                new RetargetableLookup(points[0], points[1]);
+                fail("控制点X" + Arrays.toString(points[0]) + "，Y" + Arrays.toString(points[1]));
+            } catch (IllegalArgumentException expected) {
+            }
+        }
+        RetargetableLookup lookup = new RetargetableLookup(new float[]{0, 0.4f, 0.6f, 1}, new float[]{0, 0, 1, 1});
+        try {
+            lookup.setInitialSlope(Float.NaN);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    /**
+     * 与按当前控制点重新创建的查找表结果完全相同
+     */
+    private static void assertSameAsFreshTable(RetargetableLookup lookup) {
+        int count = lookup.getControlPointCount();
+        float[] xs = new float[count];
+        float[] ys = new float[count];
+        lookup.getControlPoints(xs, ys);
+        BezierLookup table = BezierLookups.create(xs, ys, BezierLookups.LOOKUP_PARAMETRIC, 0, 0);
+        float[] expected = new float[2];
+        float[] actual = new float[2];
+        for (int i = 0; i <= 1000; i++) {
+            float input = i / 1000f;
+            table.getInterpolationAndVelocity(input, expected);
+            lookup.getInterpolationAndVelocity(input, actual);
+            assertEquals(expected[0], actual[0], 0);
+            assertEquals(expected[1], actual[1], 0);
+        }
+    }
+}
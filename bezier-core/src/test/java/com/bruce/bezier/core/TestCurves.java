@@ -0,0 +1,65 @@
+package com.bruce.bezier.core;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * 测试使用的随机曲线，起点都为(0,0)、终点都为(1,1)
+ */
+final class TestCurves {
+
+    private TestCurves() {
+    }
+
+    /**
+     * 中间控制点X坐标在[0,1]内递增，保证x(t)单调
+     * @param order 阶数
+     * @param random 随机数
+     * @return 控制点坐标，[0]为X坐标，[1]为Y坐标
+     */
+    static float[][] randomControlPoints(int order, Random random) {
+        float[] xs = new float[order + 1];
+        float[] ys = new float[order + 1];
+        for (int i = 1; i < order; i++) {
+            xs[i] = random.nextFloat();
+            ys[i] = random.nextFloat() * 2 - 0.5f;
+        }
+        xs[order] = 1;
+        ys[order] = 1;
+        Arrays.sort(xs, 1, order);
+        return new float[][]{xs, ys};
+    }
+
+    /**
+     * 中间控制点X坐标在[-0.5, 1.5]内随机，大多数高阶曲线X坐标不单调
+     * @param order 阶数
+     * @param random 随机数
+     * @return 控制点坐标，[0]为X坐标，[1]为Y坐标
+     */
+    static float[][] randomUnitCurve(int order, Random random) {
+        float[] xs = new float[order + 1];
+        float[] ys = new float[order + 1];
+        for (int i = 1; i < order; i++) {
+            xs[i] = random.nextFloat() * 2 - 0.5f;
+            ys[i] = random.nextFloat() * 2 - 0.5f;
+        }
+        xs[order] = 1;
+        ys[order] = 1;
+        return new float[][]{xs, ys};
+    }
+
+    /**
+     * 重复生成{@link #randomUnitCurve(int, Random)}，直到X坐标不单调
+     * @param order 阶数，至少为2
+     * @param random 随机数
+     * @return 控制点坐标，[0]为X坐标，[1]为Y坐标
+     */
+    static float[][] randomNonMonotoneControlPoints(int order, Random random) {
+        while (true) {
+            float[][] points = randomUnitCurve(order, random);
+            if (!new BezierCurve(points[0], points[1]).isMonotone()) {
+                return points;
+            }
+        }
+    }
+}